@@ -0,0 +1,196 @@
+package com.example.wordquizgame;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import com.example.wordquizgame.bank.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * แคชรูปคำถามที่ decode แล้ว จำกัดขนาดตามจำนวน byte และ decode ใน worker thread
+ */
+public class BitmapCache {
+
+    private static final String TAG = "BitmapCache";
+
+    private static BitmapCache sInstance;
+
+    private final LruCache<String, Bitmap> cache;
+    private final ExecutorService decoder;
+    private final Handler mainHandler;
+
+    public interface Callback {
+        void onBitmapLoaded(Question question, Bitmap bitmap);
+    }
+
+    public static synchronized BitmapCache getInstance() {
+        if (sInstance == null) {
+            // ใช้ 1/8 ของ heap ที่แอปได้รับ
+            int maxBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / 8, Integer.MAX_VALUE);
+            sInstance = new BitmapCache(maxBytes);
+        }
+        return sInstance;
+    }
+
+    private BitmapCache(int maxBytes) {
+        this.cache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+        this.decoder = Executors.newSingleThreadExecutor();
+        this.mainHandler = new Handler(Looper.getMainLooper());
+
+        ResourceManager.register(ResourceManager.IMAGES, new ResourceManager.Pool() {
+            @Override
+            public long getBytes() {
+                return cache.size();
+            }
+
+            @Override
+            public void trim(int tier) {
+                // รูปที่แสดงอยู่ยังถูก ImageView ถือไว้ ที่ทิ้งไปคือรูปที่ decode ไว้ล่วงหน้าเท่านั้น
+                cache.evictAll();
+            }
+        });
+    }
+
+    /**
+     * หยุด thread ที่ decode อยู่ ทิ้งรูปในแคช แล้วลืม instance เดิม (ใช้ในเทสต์)
+     */
+    static void resetForTest(long timeoutMillis) throws InterruptedException {
+        BitmapCache instance;
+        synchronized (BitmapCache.class) {
+            instance = sInstance;
+            sInstance = null;
+        }
+        if (instance != null) {
+            instance.decoder.shutdown();
+            instance.decoder.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+            instance.cache.evictAll();
+        }
+    }
+
+    public Bitmap get(Question question) {
+        return cache.get(question.imagePath);
+    }
+
+    /**
+     * คืนรูปทันทีผ่าน callback ถ้าอยู่ในแคช ไม่อย่างนั้นจะ decode ใน worker thread
+     * แล้วเรียก callback บน main thread
+     */
+    public void load(final Question question, final int reqWidth, final int reqHeight,
+                     final Callback callback) {
+        Bitmap bitmap = cache.get(question.imagePath);
+        if (bitmap != null) {
+            callback.onBitmapLoaded(question, bitmap);
+            return;
+        }
+
+        decoder.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap result = decodeIntoCache(question, reqWidth, reqHeight);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onBitmapLoaded(question, result);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * decode รูปล่วงหน้าเก็บไว้ในแคช (เช่นรูปของคำถามข้อถัดไป)
+     */
+    public void prefetch(final Question question, final int reqWidth, final int reqHeight) {
+        if (cache.get(question.imagePath) != null) {
+            return;
+        }
+
+        decoder.execute(new Runnable() {
+            @Override
+            public void run() {
+                decodeIntoCache(question, reqWidth, reqHeight);
+            }
+        });
+    }
+
+    private Bitmap decodeIntoCache(Question question, int reqWidth, int reqHeight) {
+        Bitmap bitmap = cache.get(question.imagePath);
+        if (bitmap != null) {
+            return bitmap;
+        }
+
+        long start = Metrics.start();
+        bitmap = decodeSampled(question, reqWidth, reqHeight);
+        Metrics.record(Metrics.IMAGE_DECODE, start);
+
+        if (bitmap != null) {
+            cache.put(question.imagePath, bitmap);
+        }
+        return bitmap;
+    }
+
+    private Bitmap decodeSampled(Question question, int reqWidth, int reqHeight) {
+        InputStream stream = null;
+
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+
+            stream = question.openImage();
+            BitmapFactory.decodeStream(stream, null, options);
+            stream.close();
+
+            options.inSampleSize = calculateInSampleSize(options, reqWidth, reqHeight);
+            options.inJustDecodeBounds = false;
+
+            stream = question.openImage();
+            return BitmapFactory.decodeStream(stream, null, options);
+
+        } catch (IOException e) {
+            GameLog.e(TAG, "Error loading file: " + question.imagePath, e);
+            return null;
+
+        } finally {
+            closeQuietly(stream);
+        }
+    }
+
+    static int calculateInSampleSize(BitmapFactory.Options options, int reqWidth, int reqHeight) {
+        int inSampleSize = 1;
+
+        if (reqWidth <= 0 || reqHeight <= 0) {
+            return inSampleSize;
+        }
+
+        int halfHeight = options.outHeight / 2;
+        int halfWidth = options.outWidth / 2;
+
+        while ((halfHeight / inSampleSize) >= reqHeight
+                && (halfWidth / inSampleSize) >= reqWidth) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.wordquizgame;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * เรียก listener ทุกเฟรมบน main thread ขณะที่ start อยู่
+ * <p>
+ * ตั้งแต่ API 16 ผูกกับ Choreographer จึงตรงกับ vsync ส่วน API 15 ไม่มี Choreographer
+ * จึงใช้ Handler โพสต์ตัวเองทุก 16 ms แทน ทั้งสองแบบใช้ callback ตัวเดิมซ้ำ ไม่สร้าง object ต่อเฟรม
+ */
+public abstract class FrameTicker {
+
+    public interface Listener {
+        void onFrame();
+    }
+
+    protected final Listener listener;
+    protected boolean running;
+
+    protected FrameTicker(Listener listener) {
+        this.listener = listener;
+    }
+
+    public static FrameTicker create(Listener listener) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerTicker(listener);
+        }
+        return new HandlerTicker(listener);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        post();
+    }
+
+    public void stop() {
+        if (running == false) {
+            return;
+        }
+        running = false;
+        remove();
+    }
+
+    protected abstract void post();
+
+    protected abstract void remove();
+
+    protected void tick() {
+        if (running) {
+            listener.onFrame();
+        }
+        // listener อาจเรียก stop() ระหว่าง onFrame
+        if (running) {
+            post();
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class ChoreographerTicker extends FrameTicker
+            implements Choreographer.FrameCallback {
+
+        private final Choreographer choreographer = Choreographer.getInstance();
+
+        ChoreographerTicker(Listener listener) {
+            super(listener);
+        }
+
+        @Override
+        protected void post() {
+            choreographer.postFrameCallback(this);
+        }
+
+        @Override
+        protected void remove() {
+            choreographer.removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            tick();
+        }
+    }
+
+    private static class HandlerTicker extends FrameTicker implements Runnable {
+
+        private static final long FRAME_MILLIS = 16;
+
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        HandlerTicker(Listener listener) {
+            super(listener);
+        }
+
+        @Override
+        protected void post() {
+            handler.postDelayed(this, FRAME_MILLIS);
+        }
+
+        @Override
+        protected void remove() {
+            handler.removeCallbacks(this);
+        }
+
+        @Override
+        public void run() {
+            tick();
+        }
+    }
+}
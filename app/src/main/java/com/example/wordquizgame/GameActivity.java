@@ -1,19 +1,14 @@
 package com.example.wordquizgame;
 
 import android.app.AlertDialog;
-import android.content.ContentValues;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
-import android.content.res.AssetManager;
-import android.database.sqlite.SQLiteDatabase;
-import android.graphics.drawable.Drawable;
-import android.media.MediaPlayer;
-import android.os.Handler;
+import android.graphics.Bitmap;
 import android.support.v7.app.ActionBarActivity;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.text.Layout;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -26,51 +21,124 @@ import android.widget.TableLayout;
 import android.widget.TableRow;
 import android.widget.TextView;
 
-import com.example.wordquizgame.db.DatabaseHelper;
+import com.example.wordquizgame.bank.Question;
+import com.example.wordquizgame.bank.QuestionBank;
+import com.example.wordquizgame.core.GameEngine;
+import com.example.wordquizgame.core.GameScheduler;
+import com.example.wordquizgame.core.GameSnapshot;
+import com.example.wordquizgame.core.QuizGenerator;
+import com.example.wordquizgame.db.ScoreRepository;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 
 public class GameActivity extends ActionBarActivity {
 
     private static final String TAG = "GameActivity";
-    private static final int NUMBER_OF_QUESTIONS = 5;
+    static final int NUMBER_OF_QUESTIONS = 5;
+
+    private static final long NEXT_QUESTION_DELAY = 2000;
+
+    // โหมดจับเวลา: ตั้งจำนวนข้อ (0 = ไม่จำกัด) หรือระยะเวลา (ms) ได้ผ่าน intent
+    public static final String BLITZ_KEY = "blitz";
+    public static final String BLITZ_QUESTIONS_KEY = "blitz_questions";
+    public static final String BLITZ_DURATION_KEY = "blitz_duration";
+    public static final long DEFAULT_BLITZ_DURATION = 60000;
+    private static final long BLITZ_NEXT_QUESTION_DELAY = 500;
+
+    // จำนวนคำถามที่สุ่มต่อครั้งเมื่อโหมดจับเวลาไม่จำกัดจำนวนข้อ
+    private static final int BLITZ_BATCH = 20;
 
     private int difficulty;
     private int numChoices;
 
-    private ArrayList<String> fileNameList;
-    private ArrayList<String> quizWordList;
-    private ArrayList<String> choiceWords;
+    private boolean blitz;
+    private int targetQuestions;
+    private long blitzDuration;
+
+    public static final String CATEGORIES_KEY = "categories";
+
+    private QuestionBank bank;
+    private BitmapCache bitmapCache;
+    private String[] choiceWords;
 
-    private String answerFileName;
-    private int totalGuesses;
-    private int score;
+    private QuizGenerator quizGenerator;
+    private StudyScheduler studyScheduler;
+    private int[] preparedQuizIndexes;
+
+    // กติกาและคะแนนอยู่ใน engine ส่วน activity แสดงผลและจับเวลา
+    private GameEngine engine;
+    private Question answerQuestion;
+
+    // เวลาที่ใช้กับข้อปัจจุบัน ส่งให้ engine ตอนตอบเพื่อคิดคะแนนโหมดจับเวลา
+    private long questionStart;
+    private long questionElapsed;
 
     private Random random;
-    private Handler handler;
+    private GameScheduler scheduler;
+    private GameScheduler.Task nextQuestionTask;
+    private GameScheduler.Task timeUpTask;
+
+    private FrameTicker timerTicker;
+    private final char[] timerChars = new char[12];
+    private int shownTenths = -1;
 
     private TextView questionNumberTextView;
     private ImageView questionImageView;
     private TableLayout buttonTableLayout;
     private TextView answerTextView;
+    private TextView timerTextView;
 
     private Animation shakeAnimation;
 
-    private static final String SCORE_KEY = "score";
-    private Bundle oldState;
+    private Button[] guessButtons;
+    private final View.OnClickListener guessButtonListener = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            submitGuess((Button) v);
+        }
+    };
 
-    private DatabaseHelper dbHelper;
-    private SQLiteDatabase db;
+    private static final String STATE_KEY = "game_state";
+
+    private AlertDialog gameOverDialog;
+
+    private ScoreRepository scoreRepository;
+
+    /**
+     * ของที่สร้างแพงและไม่ผูกกับ view เก็บข้ามการหมุนจอผ่าน
+     * {@link #onRetainCustomNonConfigurationInstance()} ตอนสร้างใหม่จึงไม่ต้องโหลดอะไรอีก
+     */
+    private static class RetainedState {
+        QuestionBank bank;
+        QuizGenerator quizGenerator;
+        StudyScheduler studyScheduler;
+        Random random;
+    }
+
+    @Override
+    public Object onRetainCustomNonConfigurationInstance() {
+        RetainedState retained = new RetainedState();
+        retained.bank = bank;
+        retained.quizGenerator = quizGenerator;
+        retained.studyScheduler = studyScheduler;
+        retained.random = random;
+        return retained;
+    }
 
     @Override
     protected void onSaveInstanceState(Bundle outState) {
         super.onSaveInstanceState(outState);
 
-        outState.putInt(SCORE_KEY, score);
+        if (answerQuestion == null) {
+            return;
+        }
+
+        GameSnapshot snapshot = engine.toSnapshot();
+        snapshot.elapsedMillis = (int) getQuestionElapsed();
+        snapshot.remainingMillis = timeUpTask == null ? -1 : (int) scheduler.getRemaining(timeUpTask);
+        outState.putIntArray(STATE_KEY, snapshot.toIntArray());
     }
 
     @Override
@@ -78,163 +146,289 @@ public class GameActivity extends ActionBarActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_game);
 
-        dbHelper = new DatabaseHelper(this);
-        db = dbHelper.getWritableDatabase();
-
-        oldState = savedInstanceState;
+        scoreRepository = ScoreRepository.getInstance(this);
 
         shakeAnimation = AnimationUtils.loadAnimation(this, R.anim.shake);
         shakeAnimation.setRepeatCount(3);
 
+        SoundEffects.load(this);
+
         questionNumberTextView = (TextView) findViewById(R.id.questionNumberTextView);
         questionImageView = (ImageView) findViewById(R.id.questionImageView);
         buttonTableLayout = (TableLayout) findViewById(R.id.buttonTableLayout);
         answerTextView = (TextView) findViewById(R.id.answerTextView);
+        timerTextView = (TextView) findViewById(R.id.timerTextView);
 
         Intent intent = getIntent();
         difficulty = intent.getIntExtra(MainActivity.DIFF_KEY, 0);
 
-        switch (difficulty) {
-            case 0:
-                numChoices = 2;
-                break;
-            case 1:
-                numChoices = 4;
-                break;
-            case 2:
-                numChoices = 6;
-                break;
+        blitz = intent.getBooleanExtra(BLITZ_KEY, false);
+        if (blitz) {
+            targetQuestions = intent.getIntExtra(BLITZ_QUESTIONS_KEY, 0);
+            blitzDuration = intent.getLongExtra(BLITZ_DURATION_KEY, DEFAULT_BLITZ_DURATION);
+        } else {
+            targetQuestions = NUMBER_OF_QUESTIONS;
         }
 
-        fileNameList = new ArrayList<String>();
-        quizWordList = new ArrayList<String>();
-        choiceWords = new ArrayList<String>();
+        numChoices = GameEngine.numChoicesFor(difficulty);
 
-        random = new Random();
-        handler = new Handler();
+        scheduler = GameLoop.create();
+        timerTicker = FrameTicker.create(new FrameTicker.Listener() {
+            @Override
+            public void onFrame() {
+                updateTimer();
+            }
+        });
+        bitmapCache = BitmapCache.getInstance();
+
+        RetainedState retained = (RetainedState) getLastCustomNonConfigurationInstance();
+        if (retained != null) {
+            bank = retained.bank;
+            quizGenerator = retained.quizGenerator;
+            studyScheduler = retained.studyScheduler;
+            random = retained.random;
+        } else {
+            createQuiz(intent);
+        }
 
-        getImageFileName();
-    }
+        int batch = targetQuestions > 0 ? targetQuestions : BLITZ_BATCH;
+        engine = new GameEngine(quizGenerator, studyScheduler, numChoices,
+                Math.min(batch, bank.size()), targetQuestions, blitz);
+        choiceWords = new String[numChoices];
 
-    private void getImageFileName() {
-        String[] categories = new String[] {
-                "animals", "body", "colors", "numbers", "objects"
-        };
+        inflateChoiceButtons();
 
-        AssetManager assets = getAssets();
+        GameSnapshot snapshot = null;
+        if (savedInstanceState != null) {
+            snapshot = GameSnapshot.fromIntArray(savedInstanceState.getIntArray(STATE_KEY));
+        }
+
+        if (snapshot != null && engine.restore(snapshot, bank.size())) {
+            restoreQuiz(snapshot);
+        } else {
+            startQuiz();
+        }
+    }
 
-        for (String category : categories) {
-            try {
-                String[] fileNames = assets.list(category);
+    private void createQuiz(Intent intent) {
+        bank = WordCatalog.getBank(this);
 
-                for (String fileName : fileNames) {
-                    fileNameList.add(fileName.replace(".png", ""));
-                }
+        String[] categories = intent.getStringArrayExtra(CATEGORIES_KEY);
+        if (categories != null) {
+            QuestionBank filtered = bank.filter(Arrays.asList(categories));
 
-            } catch (IOException e) {
-                e.printStackTrace();
-                Log.e(TAG, "Error listing filenames in " + category);
+            // หมวดที่เลือกมีคำไม่พอตั้งคำถาม ให้ใช้คำทั้งหมดแทน
+            if (filtered.size() > Math.max(NUMBER_OF_QUESTIONS, numChoices)) {
+                bank = filtered;
+            } else {
+                GameLog.w(TAG, "Not enough words in " + Arrays.toString(categories));
             }
         }
 
-        Log.i(TAG, "***** รายชื่อไฟล์ทั้งหมด *****");
-        for (String fileName: fileNameList) {
-            Log.i(TAG, fileName);
+        // ใช้คำถามชุดแรกที่ WarmUp สุ่มและ decode รูปไว้แล้ว ถ้าเป็นคลังเดียวกัน
+        WarmUp.PreparedQuiz prepared = WarmUp.takePreparedQuiz(bank);
+        if (prepared != null) {
+            random = prepared.random;
+            studyScheduler = prepared.studyScheduler;
+            preparedQuizIndexes = prepared.quizIndexes;
+        } else {
+            random = new Random();
+            studyScheduler = new StudyScheduler(this, bank, random);
         }
 
-        startQuiz();
+        // ระดับยากใช้ตัวหลอกหมวดเดียวกันที่คล้ายกับคำตอบ
+        if (GameEngine.usesDistractors(difficulty)) {
+            quizGenerator = new QuizGenerator(bank, numChoices, random, bank.getDistractorIndex());
+        } else {
+            quizGenerator = new QuizGenerator(bank, numChoices, random);
+        }
     }
 
     private void startQuiz() {
-        totalGuesses = 0;
+        engine.start(preparedQuizIndexes);
+        preparedQuizIndexes = null;
+
+        if (blitz) {
+            startTimer(blitzDuration);
+        }
 
-        if (oldState != null) {
-            score = oldState.getInt(SCORE_KEY);
+        loadNextQuestion();
+    }
+
+    /**
+     * กลับสู่ข้อเดิมจาก snapshot โดยไม่สุ่มใหม่และไม่อ่านไฟล์
+     * รูปของข้อปัจจุบันยังอยู่ในแคชจึงแสดงได้ในเฟรมแรก
+     */
+    private void restoreQuiz(GameSnapshot snapshot) {
+        questionElapsed = snapshot.elapsedMillis;
+        questionStart = SystemClock.uptimeMillis() - questionElapsed;
+
+        answerQuestion = bank.get(engine.getAnswerIndex());
+        showQuestionNumber();
+
+        Bitmap bitmap = bitmapCache.get(answerQuestion);
+        if (bitmap != null) {
+            questionImageView.setImageBitmap(bitmap);
         } else {
-            score = 0;
+            loadQuestionImage();
         }
 
-        quizWordList.clear();
+        prepareChoiceWords();
 
-        while (quizWordList.size() < NUMBER_OF_QUESTIONS) {
-            int randomIndex = random.nextInt(fileNameList.size());
-            String fileName = fileNameList.get(randomIndex);
+        if (engine.isAnswered()) {
+            showCorrectAnswer();
+        } else if (engine.getQuestionGuesses() > 0) {
+            showWrongAnswer();
+        }
 
-            if (quizWordList.contains(fileName) == false) {
-                quizWordList.add(fileName);
+        // ไม่บันทึกคะแนนซ้ำ บันทึกไปแล้วตอนจบเกม
+        if (engine.isFinished()) {
+            if (blitz) {
+                showTimer(0);
             }
+            showGameOver();
+            return;
         }
 
-        Log.i(TAG, "***** ชื่อไฟล์สำหรับตั้งคำถามที่สุ่มได้ *****");
-        for (String fileName : quizWordList) {
-            Log.i(TAG, fileName);
+        if (blitz) {
+            startTimer(Math.max(0, snapshot.remainingMillis));
+        }
+        if (engine.isAnswered()) {
+            scheduleNextQuestion();
         }
+    }
 
-        loadNextQuestion();
+    private void showQuestionNumber() {
+        int number = engine.getCorrectCount() + 1;
+        String msg;
+        if (targetQuestions > 0) {
+            msg = String.format("คำถามข้อที่ %d จากทั้งหมด %d ข้อ", number, targetQuestions);
+        } else {
+            msg = String.format("คำถามข้อที่ %d", number);
+        }
+        questionNumberTextView.setText(msg);
     }
 
-    private void loadNextQuestion() {
-        answerTextView.setText(null);
+    private final Runnable timeUp = new Runnable() {
+        @Override
+        public void run() {
+            timeUpTask = null;
+            showTimer(0);
+            engine.timeUp();
+            finishGame();
+        }
+    };
 
-        answerFileName = quizWordList.remove(0);
+    private void startTimer(long durationMillis) {
+        if (timeUpTask != null) {
+            scheduler.cancel(timeUpTask);
+        }
+        timeUpTask = scheduler.schedule(timeUp, durationMillis);
 
-        String msg = String.format("คำถามข้อที่ %d จากทั้งหมด %d ข้อ", score + 1,
-                NUMBER_OF_QUESTIONS);
-        questionNumberTextView.setText(msg);
+        timerTextView.setVisibility(View.VISIBLE);
+        shownTenths = -1;
+        updateTimer();
+        if (scheduler.isPaused() == false) {
+            timerTicker.start();
+        }
+    }
 
-        loadQuestionImage();
-        prepareChoiceWords();
+    /**
+     * เรียกทุกเฟรมขณะจับเวลา ไม่สร้าง object ใหม่ วาดใหม่เฉพาะเมื่อเลขทศนิยมหนึ่งตำแหน่งเปลี่ยน
+     */
+    private void updateTimer() {
+        if (timeUpTask == null) {
+            return;
+        }
+        showTimer(scheduler.getRemaining(timeUpTask));
     }
 
-    private void loadQuestionImage() {
-        String category = answerFileName.substring(0, answerFileName.indexOf('-'));
-        String filePath = category + "/" + answerFileName + ".png";
+    private void showTimer(long remainingMillis) {
+        int tenths = (int) ((remainingMillis + 99) / 100);
+        if (tenths == shownTenths) {
+            return;
+        }
+        shownTenths = tenths;
+
+        // เขียนตัวเลขจากขวาไปซ้ายลง buffer เดิม เช่น "59.3"
+        int pos = timerChars.length;
+        timerChars[--pos] = (char) ('0' + tenths % 10);
+        timerChars[--pos] = '.';
+        int seconds = tenths / 10;
+        do {
+            timerChars[--pos] = (char) ('0' + seconds % 10);
+            seconds /= 10;
+        } while (seconds > 0 && pos > 0);
+
+        timerTextView.setText(timerChars, pos, timerChars.length - pos);
+    }
 
-        AssetManager assets = getAssets();
-        InputStream stream;
+    private void loadNextQuestion() {
+        long start = Metrics.start();
 
-        try {
-            stream = assets.open(filePath);
+        answerTextView.setText(null);
 
-            Drawable image = Drawable.createFromStream(stream, filePath);
-            questionImageView.setImageDrawable(image);
+        // engine สุ่มคำถามชุดใหม่เองเมื่อโหมดจับเวลาใช้ชุดเดิมหมดแล้ว
+        long choiceStart = Metrics.start();
+        answerQuestion = bank.get(engine.nextQuestion());
+        Metrics.record(Metrics.CHOICE_GENERATION, choiceStart);
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            Log.e(TAG, "Error loading file: " + filePath);
-        }
+        showQuestionNumber();
 
-    }
+        // ผูกปุ่มก่อน รูปจึงเป็นสิ่งสุดท้ายที่ทำให้ข้อนี้เล่นได้
+        prepareChoiceWords();
+        loadQuestionImage();
 
-    private void prepareChoiceWords() {
-        choiceWords.clear();
+        questionStart = SystemClock.uptimeMillis();
+        questionElapsed = 0;
 
-        while (choiceWords.size() < numChoices) {
-            int randomIndex = random.nextInt(fileNameList.size());
-            String randomWord = getWord(fileNameList.get(randomIndex));
+        Metrics.record(Metrics.QUESTION_TRANSITION, start);
+    }
 
-            if (choiceWords.contains(randomWord) == false
-                    && randomWord.equals(getWord(answerFileName)) == false) {
-                choiceWords.add(randomWord);
+    private void loadQuestionImage() {
+        int width = questionImageView.getLayoutParams().width;
+        int height = questionImageView.getLayoutParams().height;
+
+        final long start = Metrics.start();
+
+        questionImageView.setImageDrawable(null);
+        bitmapCache.load(answerQuestion, width, height, new BitmapCache.Callback() {
+            @Override
+            public void onBitmapLoaded(Question question, Bitmap bitmap) {
+                // อาจได้ผลลัพธ์กลับมาหลังจากเปลี่ยนข้อไปแล้ว
+                if (question == answerQuestion) {
+                    questionImageView.setImageBitmap(bitmap);
+                    Metrics.record(Metrics.IMAGE_SHOWN, start);
+                    WarmUp.onQuestionShown();
+                }
             }
+        });
+
+        // decode รูปของข้อถัดไปไว้ล่วงหน้า
+        int next = engine.peekNextQuestion();
+        if (next >= 0) {
+            bitmapCache.prefetch(bank.get(next), width, height);
         }
+    }
 
-        int randomIndex = random.nextInt(choiceWords.size());
-        choiceWords.set(randomIndex, getWord(answerFileName));
+    private void prepareChoiceWords() {
+        for (int i = 0; i < numChoices; i++) {
+            choiceWords[i] = bank.getWord(engine.getChoiceIndex(i));
+        }
 
-        Log.i(TAG, "***** คำศัพท์ตัวเลือกที่สุ่มได้ *****");
-        for (String word : choiceWords) {
-            Log.i(TAG, word);
+        if (GameLog.DEBUG) {
+            GameLog.d(TAG, "***** คำศัพท์ตัวเลือกที่สุ่มได้ *****");
+            for (String word : choiceWords) {
+                GameLog.d(TAG, word);
+            }
         }
 
         createChoiceButtons();
     }
 
-    private void createChoiceButtons() {
-        for (int row = 0; row < buttonTableLayout.getChildCount(); row++) {
-            TableRow tr = (TableRow) buttonTableLayout.getChildAt(row);
-            tr.removeAllViews();
-        }
+    // สร้างปุ่มตัวเลือกครั้งเดียวตามระดับความยาก แล้วใช้ซ้ำทุกข้อ
+    private void inflateChoiceButtons() {
+        guessButtons = new Button[numChoices];
 
         LayoutInflater inflater =
                 (LayoutInflater) getSystemService(Context.LAYOUT_INFLATER_SERVICE);
@@ -244,81 +438,56 @@ public class GameActivity extends ActionBarActivity {
 
             for (int column = 0; column < 2; column++) {
                 Button guessButton = (Button) inflater.inflate(R.layout.guess_button, tr, false);
-
-                guessButton.setText(choiceWords.get((row * 2) + column));
-                guessButton.setOnClickListener(new View.OnClickListener() {
-                    @Override
-                    public void onClick(View v) {
-                        submitGuess((Button) v);
-                    }
-                });
+                guessButton.setOnClickListener(guessButtonListener);
 
                 tr.addView(guessButton);
+                guessButtons[(row * 2) + column] = guessButton;
             }
         }
     }
 
-    private MediaPlayer mp;
+    private void createChoiceButtons() {
+        long start = Metrics.start();
 
-    private void submitGuess(Button button) {
-        String guessWord = button.getText().toString();
-        String answerWord = getWord(answerFileName);
+        for (int i = 0; i < guessButtons.length; i++) {
+            guessButtons[i].setText(choiceWords[i]);
+            guessButtons[i].setEnabled(engine.isDisabled(i) == false);
+        }
 
-        totalGuesses++;
+        Metrics.record(Metrics.BUTTON_BINDING, start);
+    }
 
-        // ตอบถูก
-        if (guessWord.equals(answerWord)) {
-            mp = MediaPlayer.create(this, R.raw.applause);
-            mp.setVolume(0.5f, 0.5f);
-            mp.start();
+    private int applauseStreamId;
 
-            score++;
+    private void submitGuess(Button button) {
+        int slot = 0;
+        while (guessButtons[slot] != button) {
+            slot++;
+        }
 
-            answerTextView.setText(answerWord + " ถูกต้องนะครับ");
-            answerTextView.setTextColor(
-                    getResources().getColor(android.R.color.holo_green_dark)
-            );
+        long latency = getQuestionElapsed();
+        int result = engine.guess(slot, latency);
+        if (result == GameEngine.IGNORED) {
+            return;
+        }
+
+        GameJournal.record(answerQuestion.name, bank.get(engine.getChoiceIndex(slot)).name,
+                result != GameEngine.WRONG, latency, difficulty);
+
+        // ตอบถูก
+        if (result != GameEngine.WRONG) {
+            applauseStreamId = SoundEffects.play(SoundEffects.CORRECT);
 
+            showCorrectAnswer();
             disableAllButtons();
 
             // เล่นครบทุกข้อแล้ว (จบเกม)
-            if (score == NUMBER_OF_QUESTIONS) {
-
-                saveScore();
-
-                String msg = String.format(
-                        "จำนวนครั้งที่ทาย: %d\nเปอร์เซ็นต์ความถูกต้อง: %.1f",
-                        totalGuesses,
-                        (100 * NUMBER_OF_QUESTIONS) / (double) totalGuesses
-                );
-
-                new AlertDialog.Builder(this)
-                        .setTitle("สรุปผล")
-                        .setMessage(msg)
-                        .setCancelable(false)
-                        .setPositiveButton("เริ่มเกมใหม่", new DialogInterface.OnClickListener() {
-                            @Override
-                            public void onClick(DialogInterface dialog, int which) {
-                                startQuiz();
-                            }
-                        })
-                        .setNegativeButton("กลับหน้าหลัก", new DialogInterface.OnClickListener() {
-                            @Override
-                            public void onClick(DialogInterface dialog, int which) {
-                                finish();
-                            }
-                        })
-                        .show();
+            if (result == GameEngine.FINISHED) {
+                finishGame();
             }
             // ยังเล่นไม่ครบทุกข้อ
             else {
-                handler.postDelayed(new Runnable() {
-                    @Override
-                    public void run() {
-                        mp.stop();
-                        loadNextQuestion();
-                    }
-                }, 2000);
+                scheduleNextQuestion();
             }
         }
         // ตอบผิด
@@ -326,61 +495,163 @@ public class GameActivity extends ActionBarActivity {
             questionImageView.setAnimation(shakeAnimation);
             button.setAnimation(shakeAnimation);
 
-            mp = MediaPlayer.create(this, R.raw.fail3);
-            mp.start();
+            SoundEffects.play(SoundEffects.WRONG);
 
             button.setEnabled(false);
 
-            answerTextView.setText("ผิดครับ ลองใหม่นะครับ");
-            answerTextView.setTextColor(
-                    getResources().getColor(android.R.color.holo_red_dark)
-            );
+            showWrongAnswer();
         }
     }
 
-    private void saveScore() {
-        double score = (100 * NUMBER_OF_QUESTIONS) / (double) totalGuesses;
+    private long getQuestionElapsed() {
+        if (scheduler.isPaused()) {
+            return questionElapsed;
+        }
+        return SystemClock.uptimeMillis() - questionStart;
+    }
 
-        ContentValues cv = new ContentValues();
-        cv.put(DatabaseHelper.COL_SCORE, score);
-        cv.put(DatabaseHelper.COL_DIFFICULTY, difficulty);
+    GameScheduler getScheduler() {
+        return scheduler;
+    }
+
+    private void showCorrectAnswer() {
+        answerTextView.setText(answerQuestion.word + " ถูกต้องนะครับ");
+        answerTextView.setTextColor(
+                getResources().getColor(android.R.color.holo_green_dark)
+        );
+    }
 
-        long result = db.insert(DatabaseHelper.TABLE_NAME, null, cv);
-        if (result == -1) {
-            Log.e(TAG, "Error inserting data into database");
+    private void showWrongAnswer() {
+        answerTextView.setText("ผิดครับ ลองใหม่นะครับ");
+        answerTextView.setTextColor(
+                getResources().getColor(android.R.color.holo_red_dark)
+        );
+    }
+
+    private final Runnable nextQuestion = new Runnable() {
+        @Override
+        public void run() {
+            nextQuestionTask = null;
+            SoundEffects.stop(applauseStreamId);
+            applauseStreamId = 0;
+            loadNextQuestion();
         }
+    };
 
+    private void scheduleNextQuestion() {
+        nextQuestionTask = scheduler.schedule(nextQuestion,
+                blitz ? BLITZ_NEXT_QUESTION_DELAY : NEXT_QUESTION_DELAY);
     }
 
-    private void disableAllButtons() {
-        for (int row = 0; row < buttonTableLayout.getChildCount(); row++) {
-            TableRow tr = (TableRow) buttonTableLayout.getChildAt(row);
+    /**
+     * จบเกมเมื่อตอบครบหรือหมดเวลา บันทึกคะแนนครั้งเดียวแล้วแสดงสรุปผล
+     */
+    private void finishGame() {
+        timerTicker.stop();
+        if (timeUpTask != null) {
+            scheduler.cancel(timeUpTask);
+            timeUpTask = null;
+        }
+        if (nextQuestionTask != null) {
+            scheduler.cancel(nextQuestionTask);
+            nextQuestionTask = null;
+        }
 
-            for (int column = 0; column < tr.getChildCount(); column++) {
-                Button button = (Button) tr.getChildAt(column);
-                button.setEnabled(false);
-            }
+        disableAllButtons();
+        saveScore();
+        showGameOver();
+    }
+
+    private void showGameOver() {
+        String msg;
+        if (blitz) {
+            msg = String.format(
+                    "ตอบถูก: %d ข้อ\nจำนวนครั้งที่ทาย: %d\nเวลาตอบเฉลี่ย: %.1f วินาที\nคะแนน: %.1f",
+                    engine.getCorrectCount(),
+                    engine.getTotalGuesses(),
+                    engine.getAverageLatency() / 1000.0,
+                    engine.getScore()
+            );
+        } else {
+            msg = String.format(
+                    "จำนวนครั้งที่ทาย: %d\nเปอร์เซ็นต์ความถูกต้อง: %.1f\nเวลาตอบเฉลี่ย: %.1f วินาที",
+                    engine.getTotalGuesses(),
+                    engine.getScore(),
+                    engine.getAverageLatency() / 1000.0
+            );
         }
+
+        gameOverDialog = new AlertDialog.Builder(this)
+                .setTitle("สรุปผล")
+                .setMessage(msg)
+                .setCancelable(false)
+                .setPositiveButton("เริ่มเกมใหม่", new DialogInterface.OnClickListener() {
+                    @Override
+                    public void onClick(DialogInterface dialog, int which) {
+                        gameOverDialog = null;
+                        startQuiz();
+                    }
+                })
+                .setNegativeButton("กลับหน้าหลัก", new DialogInterface.OnClickListener() {
+                    @Override
+                    public void onClick(DialogInterface dialog, int which) {
+                        gameOverDialog = null;
+                        finish();
+                    }
+                })
+                .show();
+    }
+
+    private void saveScore() {
+        scoreRepository.addScore(engine.getScore(), difficulty, engine.getAverageLatency());
     }
 
-    private String getWord(String fileName) {
-        return fileName.substring(fileName.indexOf('-') + 1);
+    private void disableAllButtons() {
+        for (Button button : guessButtons) {
+            button.setEnabled(false);
+        }
     }
 
     @Override
     protected void onResume() {
         super.onResume();
-        Log.i(TAG, "onResume");
+        GameLog.d(TAG, "onResume");
 
         Music.play(this, R.raw.game);
+        // อาจถูกปล่อยไปตอนแอปไม่อยู่บนจอ (ResourceManager)
+        SoundEffects.load(this);
+        GameJournal.resume();
+        scheduler.resume();
+        questionStart = SystemClock.uptimeMillis() - questionElapsed;
+
+        if (timeUpTask != null) {
+            timerTicker.start();
+        }
     }
 
     @Override
     protected void onPause() {
         super.onPause();
-        Log.i(TAG, "onPause");
+        GameLog.d(TAG, "onPause");
 
         Music.stop();
+        questionElapsed = getQuestionElapsed();
+        scheduler.pause();
+        timerTicker.stop();
+        GameJournal.pause();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        // ข้อถัดไปและ dialog จะถูกสร้างใหม่จาก snapshot ถ้า activity ถูกสร้างใหม่
+        timerTicker.stop();
+        scheduler.cancelAll();
+        if (gameOverDialog != null) {
+            gameOverDialog.dismiss();
+            gameOverDialog = null;
+        }
     }
 
 }
@@ -0,0 +1,186 @@
+package com.example.wordquizgame;
+
+import android.content.Context;
+
+import com.example.wordquizgame.core.EventJournal;
+import com.example.wordquizgame.core.EventRing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * บันทึกทุกครั้งที่ผู้เล่นทาย (คำตอบ, คำที่เลือก, ถูก/ผิด, เวลาตอบ, ระดับความยาก) ลง journal ในเครื่อง
+ * <p>
+ * main thread แค่ใส่เหตุการณ์ลง {@link EventRing} ซึ่งไม่ล็อกและไม่สร้าง object
+ * thread ของ journal ย้ายเหตุการณ์ลงไฟล์เป็นชุดทุก {@link #FLUSH_INTERVAL_MS} ขณะอยู่หน้าเล่นเกม
+ * และตอนออกจากหน้าเล่นเกม แล้วรวบ segment เก่าเป็นสรุปรายคำเพื่อไม่ให้ไฟล์โตไม่สิ้นสุด
+ */
+public class GameJournal {
+
+    private static final String TAG = "GameJournal";
+
+    public static final String DIR_NAME = "journal";
+
+    private static final int RING_SIZE = 1024;
+    private static final long FLUSH_INTERVAL_MS = 2000;
+    private static final long SEGMENT_BYTES = 64 * 1024;
+    private static final int MAX_SEGMENTS = 8;
+
+    private static final EventRing sRing = new EventRing(RING_SIZE);
+
+    private static ScheduledExecutorService sExecutor;
+    private static ScheduledFuture<?> sPeriodic;
+    private static EventJournal sJournal;
+
+    private static final Runnable sFlush = new Runnable() {
+        @Override
+        public void run() {
+            flushOnJournalThread();
+        }
+    };
+
+    private GameJournal() {
+    }
+
+    /**
+     * เปิด journal ครั้งเดียวต่อ process ไฟล์จะถูกเปิดใน thread ของ journal
+     */
+    public static synchronized void start(Context context) {
+        if (sExecutor != null) {
+            return;
+        }
+
+        final File dir = new File(context.getApplicationContext().getFilesDir(), DIR_NAME);
+        sExecutor = Executors.newSingleThreadScheduledExecutor();
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                sJournal = new EventJournal(dir, SEGMENT_BYTES, MAX_SEGMENTS);
+            }
+        });
+    }
+
+    /**
+     * บันทึกการทายหนึ่งครั้ง เรียกจาก main thread เท่านั้น
+     * ถ้า journal ตามไม่ทันจนเต็ม เหตุการณ์นี้จะถูกทิ้งแทนการรอ
+     */
+    public static void record(String word, String chosen, boolean correct, long latencyMillis,
+                              int difficulty) {
+        sRing.offer(word, chosen, correct, latencyMillis, difficulty, System.currentTimeMillis());
+    }
+
+    /**
+     * เริ่ม flush เป็นระยะ เรียกตอนหน้าเล่นเกม onResume
+     */
+    public static synchronized void resume() {
+        if (sExecutor == null || sPeriodic != null) {
+            return;
+        }
+        sPeriodic = sExecutor.scheduleWithFixedDelay(sFlush,
+                FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * หยุด flush เป็นระยะแล้ว flush ที่ค้างอยู่ครั้งสุดท้าย เรียกตอนหน้าเล่นเกม onPause
+     */
+    public static synchronized void pause() {
+        if (sExecutor == null) {
+            return;
+        }
+        if (sPeriodic != null) {
+            sPeriodic.cancel(false);
+            sPeriodic = null;
+        }
+        sExecutor.execute(sFlush);
+    }
+
+    /**
+     * flush แล้วอ่านสรุปรายคำทั้งหมด (รอผลจาก thread ของ journal ใช้ในเทสต์และหน้าสถิติ)
+     */
+    public static Map<String, EventJournal.WordStats> readAll() throws IOException {
+        try {
+            return getExecutor().submit(new Callable<Map<String, EventJournal.WordStats>>() {
+                @Override
+                public Map<String, EventJournal.WordStats> call() throws IOException {
+                    flushOnJournalThread();
+                    return sJournal.readAll();
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the journal", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * flush เหตุการณ์ที่ค้าง ปิดไฟล์ segment แล้วหยุด thread ของ journal (ใช้ในเทสต์)
+     */
+    static void resetForTest(long timeoutMillis) throws InterruptedException {
+        ScheduledExecutorService executor;
+        synchronized (GameJournal.class) {
+            executor = sExecutor;
+            if (sPeriodic != null) {
+                sPeriodic.cancel(false);
+                sPeriodic = null;
+            }
+            sExecutor = null;
+        }
+        if (executor == null) {
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                flushOnJournalThread();
+                try {
+                    sJournal.closeSegment();
+                } catch (IOException e) {
+                    GameLog.e(TAG, "Error closing journal", e);
+                }
+                sJournal = null;
+            }
+        });
+        executor.shutdown();
+        executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static long getDropped() {
+        return sRing.getDropped();
+    }
+
+    private static synchronized ScheduledExecutorService getExecutor() {
+        if (sExecutor == null) {
+            throw new IllegalStateException("GameJournal.start() has not been called");
+        }
+        return sExecutor;
+    }
+
+    private static void flushOnJournalThread() {
+        if (sRing.size() == 0) {
+            return;
+        }
+
+        try {
+            int count = sJournal.append(sRing);
+            int compacted = sJournal.compact();
+            if (GameLog.DEBUG) {
+                GameLog.d(TAG, "Flushed " + count + " events, compacted " + compacted + " segments");
+            }
+        } catch (IOException e) {
+            GameLog.e(TAG, "Error writing journal", e);
+        }
+    }
+}
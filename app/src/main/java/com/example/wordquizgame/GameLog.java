@@ -0,0 +1,135 @@
+package com.example.wordquizgame;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Log ของเกมที่กรองตามระดับก่อนสร้างข้อความ ทุกคลาสในแอปต้อง log ผ่านคลาสนี้
+ * <p>
+ * บน release build ระดับเริ่มต้นคือ WARN ข้อความระดับ debug/info ที่ต้องต่อสตริงให้ส่งเป็น {@link Message}
+ * ซึ่งจะถูกสร้างเมื่อผ่านการกรองแล้วเท่านั้น ส่วนลูปที่ log ทีละรายการให้ครอบด้วย {@code if (GameLog.DEBUG)}
+ * ซึ่ง compiler ตัดทิ้งใน release ข้อความที่ผ่านการกรองจะถูกเก็บใน ring buffer ขนาดจำกัดไว้ dump ภายหลังด้วย
+ */
+public class GameLog {
+
+    private static final String TAG = "GameLog";
+
+    public static final boolean DEBUG = BuildConfig.DEBUG;
+
+    private static final int BUFFER_SIZE = 256;
+    private static final char[] LEVEL_CHARS = {'?', '?', 'V', 'D', 'I', 'W', 'E', 'A'};
+
+    private static volatile int sLevel = DEBUG ? Log.VERBOSE : Log.WARN;
+
+    private static final AtomicReferenceArray<String> sBuffer =
+            new AtomicReferenceArray<String>(BUFFER_SIZE);
+    private static final AtomicLong sNext = new AtomicLong();
+
+    /**
+     * ข้อความที่สร้างเมื่อจำเป็นต้อง log จริงเท่านั้น
+     */
+    public interface Message {
+        String get();
+    }
+
+    private GameLog() {
+    }
+
+    public static void setLevel(int level) {
+        sLevel = level;
+    }
+
+    public static boolean isLoggable(int level) {
+        return level >= sLevel;
+    }
+
+    public static void d(String tag, String msg) {
+        log(Log.DEBUG, tag, msg);
+    }
+
+    public static void d(String tag, Message msg) {
+        log(Log.DEBUG, tag, msg);
+    }
+
+    public static void i(String tag, String msg) {
+        log(Log.INFO, tag, msg);
+    }
+
+    public static void i(String tag, Message msg) {
+        log(Log.INFO, tag, msg);
+    }
+
+    public static void w(String tag, String msg) {
+        log(Log.WARN, tag, msg);
+    }
+
+    public static void w(String tag, Message msg) {
+        log(Log.WARN, tag, msg);
+    }
+
+    public static void w(String tag, String msg, Throwable tr) {
+        if (isLoggable(Log.WARN)) {
+            write(Log.WARN, tag, msg + '\n' + Log.getStackTraceString(tr));
+        }
+    }
+
+    public static void e(String tag, String msg) {
+        log(Log.ERROR, tag, msg);
+    }
+
+    /**
+     * log ข้อผิดพลาดพร้อม stack trace ของ exception
+     */
+    public static void e(String tag, String msg, Throwable tr) {
+        if (isLoggable(Log.ERROR)) {
+            write(Log.ERROR, tag, msg + '\n' + Log.getStackTraceString(tr));
+        }
+    }
+
+    private static void log(int level, String tag, String msg) {
+        if (isLoggable(level)) {
+            write(level, tag, msg);
+        }
+    }
+
+    private static void log(int level, String tag, Message msg) {
+        if (isLoggable(level)) {
+            write(level, tag, msg.get());
+        }
+    }
+
+    private static void write(int level, String tag, String msg) {
+        Log.println(level, tag, msg);
+
+        long seq = sNext.getAndIncrement();
+        sBuffer.set((int) (seq % BUFFER_SIZE),
+                System.currentTimeMillis() + " " + LEVEL_CHARS[level] + "/" + tag + ": " + msg);
+    }
+
+    /**
+     * คืนข้อความล่าสุดใน ring buffer เรียงจากเก่าไปใหม่
+     */
+    public static List<String> snapshot() {
+        long end = sNext.get();
+        long start = Math.max(0, end - BUFFER_SIZE);
+
+        List<String> lines = new ArrayList<String>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            String line = sBuffer.get((int) (seq % BUFFER_SIZE));
+            if (line != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    public static void dump() {
+        for (String line : snapshot()) {
+            Log.i(TAG, line);
+        }
+    }
+}
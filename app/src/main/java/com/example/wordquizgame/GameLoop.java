@@ -0,0 +1,52 @@
+package com.example.wordquizgame;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.example.wordquizgame.core.GameScheduler;
+
+/**
+ * สร้าง {@link GameScheduler} ที่ทำงานบน main thread ด้วย Handler ตัวเดียว
+ * Handler ถือแค่ Runnable ปลุกของ scheduler ไม่ได้ถืองานของ activity โดยตรง
+ */
+public class GameLoop {
+
+    private GameLoop() {
+    }
+
+    public static GameScheduler create() {
+        MainThreadWaker waker = new MainThreadWaker();
+        GameScheduler scheduler = new GameScheduler(waker, waker);
+        waker.scheduler = scheduler;
+        return scheduler;
+    }
+
+    private static class MainThreadWaker implements GameScheduler.Clock, GameScheduler.Waker,
+            Runnable {
+
+        private final Handler handler = new Handler(Looper.getMainLooper());
+        private GameScheduler scheduler;
+
+        @Override
+        public long now() {
+            return SystemClock.uptimeMillis();
+        }
+
+        @Override
+        public void wakeAt(long atMillis) {
+            handler.removeCallbacks(this);
+            handler.postAtTime(this, atMillis);
+        }
+
+        @Override
+        public void cancelWake() {
+            handler.removeCallbacks(this);
+        }
+
+        @Override
+        public void run() {
+            scheduler.runDue();
+        }
+    }
+}
@@ -1,66 +1,179 @@
 package com.example.wordquizgame;
 
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
+import android.content.Context;
 import android.support.v7.app.ActionBarActivity;
 import android.os.Bundle;
+import android.text.format.DateFormat;
+import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuItem;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.AbsListView;
+import android.widget.ArrayAdapter;
 import android.widget.ListView;
-import android.widget.SimpleCursorAdapter;
+import android.widget.TextView;
 
 import com.example.wordquizgame.db.DatabaseHelper;
+import com.example.wordquizgame.db.ScoreEntry;
+import com.example.wordquizgame.db.ScoreRepository;
+import com.example.wordquizgame.db.ScoreStats;
+
+import java.util.List;
 
 
 public class HighScoreActivity extends ActionBarActivity {
 
-    private DatabaseHelper dbHelper;
-    private SQLiteDatabase db;
-    private SimpleCursorAdapter adapter;
+    private static final int PAGE_SIZE = 20;
+    private static final String DIFF_KEY = "diff";
+
+    private ScoreRepository scoreRepository;
+    private ScoreAdapter adapter;
+    private TextView statsTextView;
+
+    private int difficulty = DatabaseHelper.DIFFICULTY_EASY;
+    // แถวสุดท้ายที่โหลดมาแล้ว หน้าถัดไปจะเริ่มต่อจากแถวนี้
+    private ScoreEntry lastEntry;
+    private boolean loading;
+    private boolean hasMore;
+
+    // ใช้ตรวจว่าผลลัพธ์ที่โหลดกลับมายังตรงกับระดับความยากที่เลือกอยู่
+    private int requestId;
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+
+        outState.putInt(DIFF_KEY, difficulty);
+    }
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_high_score);
 
-        dbHelper = new DatabaseHelper(this);
-        db = dbHelper.getWritableDatabase();
-
-        Cursor cursor = db.query(
-                DatabaseHelper.TABLE_NAME,
-                new String[]{DatabaseHelper.COL_ID,
-                        DatabaseHelper.COL_SCORE,
-                        DatabaseHelper.COL_DIFFICULTY},
-                null,
-                null,
-                null,
-                null,
-                null,
-                null
-        );
-
-        String[] columns = new String[] {
-                DatabaseHelper.COL_SCORE,
-                DatabaseHelper.COL_DIFFICULTY
-        };
-
-        int[] views = {
-            android.R.id.text1,
-            android.R.id.text2
-        };
-
-        adapter = new SimpleCursorAdapter(
-                this,
-                android.R.layout.simple_list_item_2,
-                cursor,
-                columns,
-                views,
-                0
-        );
+        scoreRepository = ScoreRepository.getInstance(this);
+
+        if (savedInstanceState != null) {
+            difficulty = savedInstanceState.getInt(DIFF_KEY);
+        }
+
+        statsTextView = (TextView) findViewById(R.id.statsTextView);
+        adapter = new ScoreAdapter(this);
 
         ListView lv = (ListView) findViewById(R.id.listView);
         lv.setAdapter(adapter);
+        lv.setOnScrollListener(new AbsListView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(AbsListView view, int scrollState) {
+            }
+
+            @Override
+            public void onScroll(AbsListView view, int firstVisibleItem,
+                                 int visibleItemCount, int totalItemCount) {
+                // โหลดหน้าถัดไปเมื่อเลื่อนใกล้ถึงท้ายรายการ
+                if (firstVisibleItem + visibleItemCount >= totalItemCount - 5) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        showDifficulty(difficulty);
+    }
+
+    private void showDifficulty(int difficulty) {
+        this.difficulty = difficulty;
+
+        requestId++;
+        lastEntry = null;
+        loading = false;
+        hasMore = true;
+
+        adapter.clear();
+        statsTextView.setText(null);
+
+        loadStats();
+        loadNextPage();
+    }
 
+    private void loadStats() {
+        final int request = requestId;
+        scoreRepository.loadStats(difficulty, new ScoreRepository.Callback<ScoreStats>() {
+            @Override
+            public void onLoaded(ScoreStats stats) {
+                if (request != requestId || isFinishing()) {
+                    return;
+                }
+
+                String msg = String.format(
+                        "เล่นไปแล้ว: %d ครั้ง\nคะแนนสูงสุด: %.1f\nคะแนนเฉลี่ย: %.1f",
+                        stats.gamesPlayed,
+                        stats.bestScore,
+                        stats.getAverageScore()
+                );
+                statsTextView.setText(msg);
+            }
+        });
+    }
+
+    private void loadNextPage() {
+        if (loading || hasMore == false) {
+            return;
+        }
+        loading = true;
+
+        final int request = requestId;
+        scoreRepository.loadTopScores(difficulty, lastEntry, PAGE_SIZE,
+                new ScoreRepository.Callback<List<ScoreEntry>>() {
+                    @Override
+                    public void onLoaded(List<ScoreEntry> result) {
+                        if (request != requestId || isFinishing()) {
+                            return;
+                        }
+
+                        loading = false;
+                        hasMore = result.size() == PAGE_SIZE;
+                        if (result.isEmpty()) {
+                            return;
+                        }
+                        lastEntry = result.get(result.size() - 1);
+
+                        // เพิ่มทั้งหน้าแล้วแจ้ง ListView ครั้งเดียว
+                        adapter.setNotifyOnChange(false);
+                        adapter.addAll(result);
+                        adapter.notifyDataSetChanged();
+                    }
+                });
+    }
+
+    private static class ScoreAdapter extends ArrayAdapter<ScoreEntry> {
+
+        private final LayoutInflater inflater;
+        private final java.text.DateFormat dateFormat;
+
+        ScoreAdapter(Context context) {
+            super(context, android.R.layout.simple_list_item_2);
+            inflater = LayoutInflater.from(context);
+            dateFormat = DateFormat.getDateFormat(context);
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            View view = convertView;
+            if (view == null) {
+                view = inflater.inflate(android.R.layout.simple_list_item_2, parent, false);
+            }
+
+            ScoreEntry entry = getItem(position);
+
+            TextView text1 = (TextView) view.findViewById(android.R.id.text1);
+            TextView text2 = (TextView) view.findViewById(android.R.id.text2);
+
+            text1.setText(String.format("%d. %.1f", position + 1, entry.score));
+            text2.setText(entry.timestamp == 0 ? "" : dateFormat.format(entry.timestamp));
+
+            return view;
+        }
     }
 
     @Override
@@ -77,6 +190,18 @@ public class HighScoreActivity extends ActionBarActivity {
         // as you specify a parent activity in AndroidManifest.xml.
         int id = item.getItemId();
 
+        switch (id) {
+            case R.id.action_easy:
+                showDifficulty(DatabaseHelper.DIFFICULTY_EASY);
+                return true;
+            case R.id.action_medium:
+                showDifficulty(DatabaseHelper.DIFFICULTY_MEDIUM);
+                return true;
+            case R.id.action_hard:
+                showDifficulty(DatabaseHelper.DIFFICULTY_HARD);
+                return true;
+        }
+
         //noinspection SimplifiableIfStatement
         if (id == R.id.action_settings) {
             return true;
@@ -6,13 +6,15 @@ import android.content.DialogInterface;
 import android.content.Intent;
 import android.support.v7.app.ActionBarActivity;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.Button;
 import android.widget.Toast;
 
+import java.io.File;
+import java.io.IOException;
+
 
 public class MainActivity extends ActionBarActivity {
 
@@ -25,27 +27,18 @@ public class MainActivity extends ActionBarActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        Log.i(TAG, "onCreate");
+        GameLog.d(TAG, "onCreate");
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
+        // ปกติเริ่มไปแล้วจาก WordQuizApplication ถ้าเริ่มแล้วจะไม่ทำซ้ำ
+        WarmUp.start(this);
+
         btnPlayGame = (Button) findViewById(R.id.playGameButton);
         btnPlayGame.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                new AlertDialog.Builder(MainActivity.this)
-                        .setTitle("เลือกระดับความยาก")
-                        .setItems(diffLabel, new DialogInterface.OnClickListener() {
-                            @Override
-                            public void onClick(DialogInterface dialog, int which) {
-                                Log.i(TAG, "ผู้ใช้เลือก " + diffLabel[which]);
-
-                                Intent intent = new Intent(MainActivity.this, GameActivity.class);
-                                intent.putExtra(DIFF_KEY, which);
-                                startActivity(intent);
-                            }
-                        })
-                        .show();
+                showDifficultyDialog(false);
             }
         });
 
@@ -60,28 +53,54 @@ public class MainActivity extends ActionBarActivity {
 
     }
 
+    private void showDifficultyDialog(final boolean blitz) {
+        new AlertDialog.Builder(MainActivity.this)
+                .setTitle("เลือกระดับความยาก")
+                .setItems(diffLabel, new DialogInterface.OnClickListener() {
+                    @Override
+                    public void onClick(DialogInterface dialog, final int which) {
+                        GameLog.i(TAG, new GameLog.Message() {
+                            @Override
+                            public String get() {
+                                return "ผู้ใช้เลือก " + diffLabel[which];
+                            }
+                        });
+
+                        Intent intent = new Intent(MainActivity.this, GameActivity.class);
+                        intent.putExtra(DIFF_KEY, which);
+                        if (blitz) {
+                            intent.putExtra(GameActivity.BLITZ_KEY, true);
+                            intent.putExtra(GameActivity.BLITZ_DURATION_KEY,
+                                    GameActivity.DEFAULT_BLITZ_DURATION);
+                        }
+                        startActivity(intent);
+                    }
+                })
+                .show();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        Log.i(TAG, "onDestroy");
+        GameLog.d(TAG, "onDestroy");
     }
 
     @Override
     protected void onStart() {
         super.onStart();
-        Log.i(TAG, "onStart");
+        GameLog.d(TAG, "onStart");
     }
 
     @Override
     protected void onStop() {
         super.onStop();
-        Log.i(TAG, "onStop");
+        GameLog.d(TAG, "onStop");
     }
 
     @Override
     protected void onResume() {
         super.onResume();
-        Log.i(TAG, "onResume");
+        GameLog.d(TAG, "onResume");
 
         Music.play(this, R.raw.main);
     }
@@ -89,7 +108,7 @@ public class MainActivity extends ActionBarActivity {
     @Override
     protected void onPause() {
         super.onPause();
-        Log.i(TAG, "onPause");
+        GameLog.d(TAG, "onPause");
 
         Music.stop();
     }
@@ -97,7 +116,7 @@ public class MainActivity extends ActionBarActivity {
     @Override
     protected void onRestart() {
         super.onRestart();
-        Log.i(TAG, "onRestart");
+        GameLog.d(TAG, "onRestart");
     }
 
     @Override
@@ -119,6 +138,27 @@ public class MainActivity extends ActionBarActivity {
             return true;
         }
 
+        if (id == R.id.action_blitz) {
+            showDifficultyDialog(true);
+            return true;
+        }
+
+        if (id == R.id.action_dump_metrics) {
+            Metrics.dumpToLog();
+            try {
+                File file = Metrics.dumpToFile(this);
+                Toast.makeText(this, file.getPath(), Toast.LENGTH_SHORT).show();
+            } catch (IOException e) {
+                GameLog.e(TAG, "Error writing metrics file", e);
+            }
+            return true;
+        }
+
+        if (id == R.id.action_dump_log) {
+            GameLog.dump();
+            return true;
+        }
+
         return super.onOptionsItemSelected(item);
     }
 
@@ -0,0 +1,112 @@
+package com.example.wordquizgame;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.wordquizgame.core.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * จับเวลาแต่ละขั้นตอนของการเปลี่ยนคำถาม เก็บเป็น histogram (หน่วย microseconds)
+ * แล้วสรุป p50/p95/p99 ลง logcat หรือไฟล์เมื่อต้องการ
+ */
+public class Metrics {
+
+    private static final String TAG = "Metrics";
+
+    public static final String FILE_NAME = "metrics.txt";
+
+    public static final int IMAGE_DECODE = 0;
+    public static final int IMAGE_SHOWN = 1;
+    public static final int CHOICE_GENERATION = 2;
+    public static final int BUTTON_BINDING = 3;
+    public static final int QUESTION_TRANSITION = 4;
+    public static final int DB_WRITE = 5;
+    public static final int WARM_UP = 6;
+    public static final int FIRST_QUESTION = 7;
+    public static final int MUSIC_START = 8;
+
+    private static final String[] NAMES = new String[] {
+            "image_decode", "image_shown", "choice_generation",
+            "button_binding", "question_transition", "db_write",
+            "warm_up", "first_question", "music_start"
+    };
+
+    private static final LatencyHistogram[] sHistograms = new LatencyHistogram[NAMES.length];
+
+    static {
+        for (int i = 0; i < sHistograms.length; i++) {
+            sHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * เวลาปัจจุบันสำหรับใช้เป็นจุดเริ่มของ {@link #record(int, long)}
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * บันทึกเวลาที่ผ่านไปตั้งแต่ startNanos ลงในขั้นตอน phase
+     */
+    public static void record(int phase, long startNanos) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        sHistograms[phase].record(micros);
+    }
+
+    public static LatencyHistogram get(int phase) {
+        return sHistograms[phase];
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : sHistograms) {
+            histogram.reset();
+        }
+    }
+
+    public static String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("phase count p50_us p95_us p99_us\n");
+
+        for (int i = 0; i < sHistograms.length; i++) {
+            LatencyHistogram histogram = sHistograms[i];
+            sb.append(NAMES[i]).append(' ')
+                    .append(histogram.getCount()).append(' ')
+                    .append(histogram.getPercentile(50)).append(' ')
+                    .append(histogram.getPercentile(95)).append(' ')
+                    .append(histogram.getPercentile(99)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static void dumpToLog() {
+        for (String line : summary().split("\n")) {
+            Log.i(TAG, line);
+        }
+    }
+
+    /**
+     * เขียนสรุปต่อท้ายไฟล์ metrics.txt ใน files dir แล้วคืนไฟล์นั้น
+     */
+    public static File dumpToFile(Context context) throws IOException {
+        File file = new File(context.getFilesDir(), FILE_NAME);
+
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file, true), "UTF-8");
+        try {
+            writer.write("# " + System.currentTimeMillis() + "\n");
+            writer.write(summary());
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+}
@@ -1,24 +1,223 @@
 package com.example.wordquizgame;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioManager;
 import android.media.MediaPlayer;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
 
+import java.io.IOException;
+
+/**
+ * เพลงพื้นหลัง เตรียม MediaPlayer แบบ async และเก็บไว้ใช้ซ้ำ (แยกตาม resource)
+ * เปลี่ยนเพลงด้วยการ crossfade โดยไม่ block main thread
+ */
 public class Music {
-    private static MediaPlayer mPlayer = null;
+
+    private static final String TAG = "Music";
+
+    private static final float MAX_VOLUME = 0.3f;
+    private static final int FADE_DURATION_MS = 600;
+    private static final int FADE_STEP_MS = 30;
+    private static final float FADE_DELTA = MAX_VOLUME * FADE_STEP_MS / FADE_DURATION_MS;
+
+    private static class Track {
+        final int resId;
+        final MediaPlayer player;
+        long bytes;
+        boolean prepared;
+        boolean wanted;
+        float volume;
+        // เวลา (Metrics.start()) ที่สั่งเล่นจากความเงียบ ยังไม่เริ่มเล่นจริง หรือ 0
+        long requestedAt;
+
+        Track(int resId, MediaPlayer player) {
+            this.resId = resId;
+            this.player = player;
+        }
+    }
+
+    private static final SparseArray<Track> sTracks = new SparseArray<Track>();
+    private static final Handler sHandler = new Handler(Looper.getMainLooper());
+    private static Context sContext = null;
+    private static boolean sFading = false;
+
+    /**
+     * ปล่อย player ทั้งหมดเมื่อแอปไม่อยู่บนจอ play() ครั้งถัดไปจะเตรียมใหม่เอง
+     */
+    public static final ResourceManager.Pool POOL = new ResourceManager.Pool() {
+        @Override
+        public long getBytes() {
+            long bytes = 0;
+            for (int i = 0; i < sTracks.size(); i++) {
+                bytes += sTracks.valueAt(i).bytes;
+            }
+            return bytes;
+        }
+
+        @Override
+        public void trim(int tier) {
+            if (tier >= ResourceManager.TIER_HIDDEN) {
+                release();
+            }
+        }
+    };
+
+    private static final Runnable sFadeStep = new Runnable() {
+        @Override
+        public void run() {
+            sFading = false;
+            fade();
+        }
+    };
+
+    /**
+     * เตรียมเพลงไว้ล่วงหน้าโดยยังไม่เล่น
+     */
+    public static void prepare(Context context, int resId) {
+        sContext = context.getApplicationContext();
+        getTrack(resId);
+    }
 
     public static void play(Context context, int resId) {
-        stop();
-        mPlayer = MediaPlayer.create(context, resId);
-        mPlayer.setVolume(0.3f, 0.3f);
-        mPlayer.setLooping(true);
-        mPlayer.start();
+        sContext = context.getApplicationContext();
+
+        Track track = getTrack(resId);
+        // ต้องอ่านก่อนล้าง wanted ด้านล่าง เพลงที่ต้องการอยู่แล้วหรือยังดังอยู่ไม่นับเป็นการเริ่มใหม่
+        boolean silent = track != null && track.wanted == false && track.volume == 0;
+
+        for (int i = 0; i < sTracks.size(); i++) {
+            sTracks.valueAt(i).wanted = false;
+        }
+
+        if (track == null) {
+            return;
+        }
+
+        if (silent) {
+            track.requestedAt = Metrics.start();
+        }
+        track.wanted = true;
+
+        if (track.prepared) {
+            startIfNeeded(track);
+        }
+        scheduleFade();
     }
 
+    /**
+     * ค่อย ๆ ลดเสียงจนเงียบแล้ว pause ไว้ โดยยังเก็บ player ไว้เล่นต่อได้ทันที
+     */
     public static void stop() {
-        if (mPlayer != null) {
-            mPlayer.stop();
-            mPlayer.release();
-            mPlayer = null;
+        for (int i = 0; i < sTracks.size(); i++) {
+            sTracks.valueAt(i).wanted = false;
+        }
+        scheduleFade();
+    }
+
+    /**
+     * คืน player ทั้งหมด ใช้เมื่อไม่ต้องการเพลงอีกหรือหน่วยความจำเหลือน้อย
+     */
+    public static void release() {
+        sHandler.removeCallbacks(sFadeStep);
+        sFading = false;
+
+        for (int i = 0; i < sTracks.size(); i++) {
+            sTracks.valueAt(i).player.release();
+        }
+        sTracks.clear();
+    }
+
+    private static Track getTrack(int resId) {
+        Track track = sTracks.get(resId);
+        if (track != null) {
+            return track;
+        }
+
+        MediaPlayer player = new MediaPlayer();
+        final Track newTrack = new Track(resId, player);
+
+        try {
+            AssetFileDescriptor afd = sContext.getResources().openRawResourceFd(resId);
+            player.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+            newTrack.bytes = afd.getLength();
+            afd.close();
+        } catch (IOException e) {
+            GameLog.e(TAG, "Error opening music resource " + resId, e);
+            player.release();
+            return null;
+        }
+
+        player.setAudioStreamType(AudioManager.STREAM_MUSIC);
+        player.setLooping(true);
+        player.setVolume(0, 0);
+        player.setOnPreparedListener(new MediaPlayer.OnPreparedListener() {
+            @Override
+            public void onPrepared(MediaPlayer mp) {
+                newTrack.prepared = true;
+                if (newTrack.wanted) {
+                    startIfNeeded(newTrack);
+                    scheduleFade();
+                }
+            }
+        });
+        player.prepareAsync();
+
+        sTracks.put(resId, newTrack);
+        return newTrack;
+    }
+
+    private static void startIfNeeded(Track track) {
+        if (track.player.isPlaying()) {
+            return;
+        }
+
+        track.player.start();
+
+        if (track.requestedAt != 0) {
+            Metrics.record(Metrics.MUSIC_START, track.requestedAt);
+            track.requestedAt = 0;
+        }
+    }
+
+    private static void scheduleFade() {
+        if (sFading == false) {
+            sFading = true;
+            sHandler.post(sFadeStep);
+        }
+    }
+
+    private static void fade() {
+        boolean busy = false;
+
+        for (int i = 0; i < sTracks.size(); i++) {
+            Track track = sTracks.valueAt(i);
+            if (track.prepared == false) {
+                continue;
+            }
+
+            float target = track.wanted ? MAX_VOLUME : 0;
+            if (track.volume < target) {
+                track.volume = Math.min(target, track.volume + FADE_DELTA);
+            } else if (track.volume > target) {
+                track.volume = Math.max(target, track.volume - FADE_DELTA);
+            }
+            track.player.setVolume(track.volume, track.volume);
+
+            if (track.volume == 0 && track.wanted == false) {
+                if (track.player.isPlaying()) {
+                    track.player.pause();
+                }
+            } else if (track.volume != target) {
+                busy = true;
+            }
+        }
+
+        if (busy) {
+            sFading = true;
+            sHandler.postDelayed(sFadeStep, FADE_STEP_MS);
         }
     }
 }
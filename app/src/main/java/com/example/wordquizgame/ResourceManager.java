@@ -0,0 +1,195 @@
+package com.example.wordquizgame;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.Configuration;
+import android.util.Log;
+
+import com.example.wordquizgame.db.ScoreRepository;
+
+import java.io.IOException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * รวมการนับหน่วยความจำของรูป เสียง และ cursor ไว้ที่เดียว และคืนหน่วยความจำเมื่อระบบแจ้งว่าเหลือน้อย
+ * <p>
+ * เจ้าของแต่ละอย่างลงทะเบียน {@link Pool} ไว้ เมื่อได้ onTrimMemory/onLowMemory จะแปลงระดับเป็น tier
+ * แล้วสั่งทุก pool ให้ปล่อยของตาม tier: ขณะเล่นอยู่ทิ้งเฉพาะของที่สร้างใหม่ได้เร็ว (รูปในแคช, แคชของ SQLite)
+ * เมื่อแอปไม่อยู่บนจอแล้วจึงปล่อยเสียงด้วย ซึ่งจะโหลดใหม่ตอนกลับมา
+ */
+public class ResourceManager implements ComponentCallbacks2 {
+
+    private static final String TAG = "ResourceManager";
+
+    public static final int IMAGES = 0;
+    public static final int AUDIO = 1;
+    public static final int CURSORS = 2;
+    private static final int KINDS = 3;
+
+    public static final int TIER_NONE = 0;
+    // ยังเล่นอยู่แต่หน่วยความจำเริ่มตึง (TRIM_MEMORY_RUNNING_LOW, RUNNING_CRITICAL)
+    public static final int TIER_RUNNING = 1;
+    // แอปไม่อยู่บนจอหรือระบบกำลังจะฆ่า process (UI_HIDDEN ขึ้นไป, onLowMemory)
+    public static final int TIER_HIDDEN = 2;
+
+    /**
+     * ของที่ถือหน่วยความจำไว้และปล่อยได้เมื่อจำเป็น
+     */
+    public interface Pool {
+        long getBytes();
+
+        void trim(int tier);
+    }
+
+    private static class Entry {
+        final int kind;
+        final Pool pool;
+
+        Entry(int kind, Pool pool) {
+            this.kind = kind;
+            this.pool = pool;
+        }
+    }
+
+    private static final CopyOnWriteArrayList<Entry> sPools = new CopyOnWriteArrayList<Entry>();
+    private static volatile int sLastTier = TIER_NONE;
+    private static ResourceManager sCallbacks;
+
+    private ResourceManager() {
+    }
+
+    /**
+     * ลงทะเบียนรับสัญญาณหน่วยความจำของระบบและ pool ของเสียงและฐานข้อมูล เรียกครั้งเดียวจาก Application
+     */
+    public static synchronized void install(Context context) {
+        if (sCallbacks != null) {
+            return;
+        }
+        sCallbacks = new ResourceManager();
+        context.getApplicationContext().registerComponentCallbacks(sCallbacks);
+
+        register(AUDIO, Music.POOL);
+        register(AUDIO, SoundEffects.POOL);
+        register(CURSORS, ScoreRepository.POOL);
+    }
+
+    /**
+     * ลืม pool ทั้งหมด ใช้ในเทสต์เมื่อ singleton ที่ลงทะเบียนไว้ถูกสร้างใหม่
+     */
+    static synchronized void reset() {
+        sPools.clear();
+        sCallbacks = null;
+        sLastTier = TIER_NONE;
+    }
+
+    public static void register(int kind, Pool pool) {
+        sPools.add(new Entry(kind, pool));
+    }
+
+    public static void unregister(Pool pool) {
+        for (Entry entry : sPools) {
+            if (entry.pool == pool) {
+                sPools.remove(entry);
+            }
+        }
+    }
+
+    /**
+     * จำนวน byte ที่ของชนิด kind ถืออยู่ตอนนี้
+     */
+    public static long getUsage(int kind) {
+        long bytes = 0;
+        for (Entry entry : sPools) {
+            if (entry.kind == kind) {
+                bytes += entry.pool.getBytes();
+            }
+        }
+        return bytes;
+    }
+
+    public static long getTotalUsage() {
+        long bytes = 0;
+        for (int kind = 0; kind < KINDS; kind++) {
+            bytes += getUsage(kind);
+        }
+        return bytes;
+    }
+
+    /**
+     * tier ล่าสุดที่สั่งปล่อยของไป (ใช้ในเทสต์)
+     */
+    public static int getLastTier() {
+        return sLastTier;
+    }
+
+    // ค่า TRIM_MEMORY_RUNNING_* เป็นค่าคงที่ของ API 16 เครื่องที่เก่ากว่าจะไม่ส่งมาเท่านั้น
+    static int tierFor(int level) {
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            return TIER_HIDDEN;
+        }
+        if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            return TIER_RUNNING;
+        }
+        return TIER_NONE;
+    }
+
+    /**
+     * สั่งทุก pool ปล่อยของตาม tier
+     */
+    public static void trim(int tier) {
+        if (tier == TIER_NONE) {
+            return;
+        }
+
+        // วัดขนาดก่อน trim เฉพาะเมื่อจะ log จริง release build จึงไม่ต้องไล่ทุก pool เพิ่ม
+        final long before = GameLog.isLoggable(Log.INFO) ? getTotalUsage() : 0;
+        for (Entry entry : sPools) {
+            entry.pool.trim(tier);
+        }
+        sLastTier = tier;
+
+        final int trimmedTier = tier;
+        GameLog.i(TAG, new GameLog.Message() {
+            @Override
+            public String get() {
+                return "Trimmed tier " + trimmedTier + ": " + before + " -> " + getTotalUsage() + " bytes";
+            }
+        });
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        trim(tierFor(level));
+    }
+
+    @Override
+    public void onLowMemory() {
+        trim(TIER_HIDDEN);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    /**
+     * ขนาดไฟล์ของ raw resource ใช้ประมาณหน่วยความจำของเสียง (0 ถ้าอ่านไม่ได้)
+     */
+    static long rawResourceLength(Context context, int resId) {
+        AssetFileDescriptor afd = null;
+        try {
+            afd = context.getResources().openRawResourceFd(resId);
+            return afd != null ? afd.getLength() : 0;
+        } catch (RuntimeException e) {
+            GameLog.w(TAG, "Cannot measure resource " + resId, e);
+            return 0;
+        } finally {
+            if (afd != null) {
+                try {
+                    afd.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
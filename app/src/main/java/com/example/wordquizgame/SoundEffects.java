@@ -0,0 +1,83 @@
+package com.example.wordquizgame;
+
+import android.content.Context;
+import android.media.AudioManager;
+import android.media.SoundPool;
+
+/**
+ * เสียงประกอบสั้น ๆ (ตอบถูก/ตอบผิด) โหลดเข้า SoundPool ครั้งเดียวแล้วเล่นซ้ำได้ทันที
+ * ส่วนเพลงพื้นหลังที่เล่นวนยังใช้ {@link Music}
+ */
+public class SoundEffects {
+
+    public static final int CORRECT = 0;
+    public static final int WRONG = 1;
+
+    private static final int MAX_STREAMS = 4;
+
+    private static volatile SoundPool sPool = null;
+    private static final int[] sSoundIds = new int[2];
+    private static final float[] sVolumes = new float[] {0.5f, 1.0f};
+    private static volatile long sBytes;
+
+    /**
+     * ปล่อย SoundPool เมื่อแอปไม่อยู่บนจอ หน้าเล่นเกมจะโหลดใหม่ตอน onResume
+     */
+    public static final ResourceManager.Pool POOL = new ResourceManager.Pool() {
+        @Override
+        public long getBytes() {
+            return sBytes;
+        }
+
+        @Override
+        public void trim(int tier) {
+            if (tier >= ResourceManager.TIER_HIDDEN) {
+                release();
+            }
+        }
+    };
+
+    @SuppressWarnings("deprecation")
+    public static synchronized void load(Context context) {
+        if (sPool != null) {
+            return;
+        }
+
+        Context appContext = context.getApplicationContext();
+
+        // ใช้ constructor เดิมเพราะ SoundPool.Builder มีตั้งแต่ API 21
+        sPool = new SoundPool(MAX_STREAMS, AudioManager.STREAM_MUSIC, 0);
+        sSoundIds[CORRECT] = sPool.load(appContext, R.raw.applause, 1);
+        sSoundIds[WRONG] = sPool.load(appContext, R.raw.fail3, 1);
+        sBytes = ResourceManager.rawResourceLength(appContext, R.raw.applause)
+                + ResourceManager.rawResourceLength(appContext, R.raw.fail3);
+    }
+
+    /**
+     * เล่นเสียงแล้วคืน stream id ไว้ใช้หยุดเสียง (0 ถ้ายังไม่ได้โหลด)
+     */
+    public static int play(int effect) {
+        SoundPool pool = sPool;
+        if (pool == null) {
+            return 0;
+        }
+
+        float volume = sVolumes[effect];
+        return pool.play(sSoundIds[effect], volume, volume, 1, 0, 1.0f);
+    }
+
+    public static void stop(int streamId) {
+        SoundPool pool = sPool;
+        if (pool != null && streamId != 0) {
+            pool.stop(streamId);
+        }
+    }
+
+    public static synchronized void release() {
+        if (sPool != null) {
+            sPool.release();
+            sPool = null;
+            sBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.wordquizgame;
+
+import android.content.Context;
+
+import com.example.wordquizgame.bank.QuestionBank;
+import com.example.wordquizgame.core.GameEngine;
+import com.example.wordquizgame.core.LeitnerScheduler;
+import com.example.wordquizgame.db.ScoreRepository;
+import com.example.wordquizgame.db.WordProgress;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * เลือกคำถามตามผลการตอบที่ผ่านมา (spaced repetition) และบันทึกผลของแต่ละคำลงฐานข้อมูล
+ */
+public class StudyScheduler implements GameEngine.QuestionSource {
+
+    private static final String TAG = "StudyScheduler";
+
+    private static Map<String, WordProgress> sProgress;
+    private static Thread sLoader;
+
+    private final QuestionBank bank;
+    private final ScoreRepository scoreRepository;
+    private final LeitnerScheduler scheduler;
+
+    /**
+     * เริ่มอ่านผลการเล่นของทุกคำใน background thread ถ้ายังไม่ได้อ่าน
+     */
+    public static synchronized void preload(Context context) {
+        if (sProgress != null || sLoader != null) {
+            return;
+        }
+
+        final ScoreRepository repository = ScoreRepository.getInstance(context);
+        sLoader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, WordProgress> progress = repository.getWordProgress();
+                synchronized (StudyScheduler.class) {
+                    sProgress = progress;
+                    sLoader = null;
+                    StudyScheduler.class.notifyAll();
+                }
+            }
+        }, TAG);
+        sLoader.start();
+    }
+
+    private static synchronized Map<String, WordProgress> getProgress(ScoreRepository repository) {
+        while (sProgress == null && sLoader != null) {
+            try {
+                StudyScheduler.class.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (sProgress == null) {
+            sProgress = repository.getWordProgress();
+        }
+        return sProgress;
+    }
+
+    /**
+     * รอ thread ที่อ่านผลการเล่นอยู่ให้เสร็จ แล้วลืมผลที่อ่านไว้ (ใช้ในเทสต์ ก่อนปิดฐานข้อมูล)
+     */
+    static void resetForTest() throws InterruptedException {
+        Thread loader;
+        synchronized (StudyScheduler.class) {
+            loader = sLoader;
+        }
+        if (loader != null) {
+            loader.join();
+        }
+
+        synchronized (StudyScheduler.class) {
+            sProgress = null;
+            sLoader = null;
+        }
+    }
+
+    public StudyScheduler(Context context, QuestionBank bank, Random random) {
+        this.bank = bank;
+        this.scoreRepository = ScoreRepository.getInstance(context);
+        this.scheduler = new LeitnerScheduler(bank.size(), random);
+
+        synchronized (StudyScheduler.class) {
+            Map<String, WordProgress> progress = getProgress(scoreRepository);
+
+            long round = 0;
+            for (WordProgress p : progress.values()) {
+                round = Math.max(round, p.lastRound);
+            }
+            scheduler.setRound(round);
+
+            for (int i = 0; i < bank.size(); i++) {
+                WordProgress p = progress.get(bank.get(i).name);
+                if (p != null) {
+                    scheduler.restore(i, p.box, p.due);
+                }
+            }
+        }
+        scheduler.heapify();
+    }
+
+    @Override
+    public void pickQuestions(int[] out) {
+        scheduler.pickQuestions(out);
+    }
+
+    /**
+     * บันทึกว่าคำที่ index ใช้ไปกี่ครั้งกว่าจะตอบถูก
+     */
+    @Override
+    public void record(int index, int guesses) {
+        scheduler.record(index, guesses == 1);
+
+        WordProgress copy;
+        synchronized (StudyScheduler.class) {
+            String name = bank.get(index).name;
+            if (sProgress == null) {
+                sProgress = new HashMap<String, WordProgress>();
+            }
+
+            WordProgress p = sProgress.get(name);
+            if (p == null) {
+                p = new WordProgress(name);
+                sProgress.put(name, p);
+            }
+
+            p.box = scheduler.getBox(index);
+            p.due = scheduler.getDue(index);
+            p.lastRound = scheduler.getRound();
+            p.attempts += guesses;
+            if (guesses == 1) {
+                p.correct++;
+            }
+            copy = p.copy();
+        }
+
+        scoreRepository.saveWordProgress(copy);
+    }
+}
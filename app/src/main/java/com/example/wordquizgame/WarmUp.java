@@ -0,0 +1,213 @@
+package com.example.wordquizgame;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+import com.example.wordquizgame.bank.QuestionBank;
+import com.example.wordquizgame.db.ScoreRepository;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * เตรียมของที่หน้าเล่นเกมต้องใช้ตั้งแต่เปิดแอป ระหว่างที่ผู้เล่นยังอยู่หน้าหลัก
+ * <p>
+ * งานที่ไม่ขึ้นต่อกันทำพร้อมกันบน executor เล็ก ๆ: เปิดฐานข้อมูลและอ่านผลการเล่น,
+ * สร้างคลังคำถาม, โหลดเสียงประกอบ และสุ่มคำถามชุดแรกพร้อม decode รูปข้อแรกไว้ในแคช
+ * GameActivity จึงได้ของที่พร้อมแล้ว และบันทึกเวลาตั้งแต่เริ่มแอปจนคำถามข้อแรกเล่นได้ลงใน Metrics
+ */
+public class WarmUp {
+
+    private static final String TAG = "WarmUp";
+
+    private static final int THREADS = 2;
+    private static final int TASKS = 3;
+
+    private static ThreadPoolExecutor sExecutor;
+    private static CountDownLatch sDone;
+    private static AtomicInteger sRemaining;
+    private static long sStartNanos;
+    private static boolean sFirstQuestionRecorded;
+    private static PreparedQuiz sPrepared;
+
+    /**
+     * คำถามชุดแรกที่สุ่มไว้แล้ว ใช้ได้เมื่อเล่นกับคลังคำถามตัวเดียวกันเท่านั้น
+     */
+    public static class PreparedQuiz {
+        public final QuestionBank bank;
+        public final Random random;
+        public final StudyScheduler studyScheduler;
+        public final int[] quizIndexes;
+
+        PreparedQuiz(QuestionBank bank, Random random, StudyScheduler studyScheduler,
+                     int[] quizIndexes) {
+            this.bank = bank;
+            this.random = random;
+            this.studyScheduler = studyScheduler;
+            this.quizIndexes = quizIndexes;
+        }
+    }
+
+    private WarmUp() {
+    }
+
+    /**
+     * เริ่มเตรียมของครั้งเดียวต่อ process เรียกจาก main thread
+     */
+    public static synchronized void start(Context context) {
+        if (sExecutor != null) {
+            return;
+        }
+        sStartNanos = Metrics.start();
+
+        final Context appContext = context.getApplicationContext();
+
+        // thread จะหมดไปเองเมื่อเตรียมเสร็จ ไม่ค้างไว้ตลอดอายุแอป
+        sExecutor = new ThreadPoolExecutor(THREADS, THREADS, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>());
+        sExecutor.allowCoreThreadTimeOut(true);
+        sDone = new CountDownLatch(TASKS);
+        sRemaining = new AtomicInteger(TASKS);
+
+        // สร้างคลังคำถามใน thread ของ WordCatalog เอง งานด้านล่างจะรอผลจาก getBank()
+        WordCatalog.preload(appContext);
+
+        // MediaPlayer เตรียมแบบ async อยู่แล้ว และ Music ต้องถูกเรียกจาก main thread
+        Music.prepare(appContext, R.raw.game);
+
+        submit(new Runnable() {
+            @Override
+            public void run() {
+                ScoreRepository.getInstance(appContext).getDatabase();
+                StudyScheduler.preload(appContext);
+            }
+        });
+        submit(new Runnable() {
+            @Override
+            public void run() {
+                SoundEffects.load(appContext);
+            }
+        });
+        submit(new Runnable() {
+            @Override
+            public void run() {
+                prepareFirstQuiz(appContext);
+            }
+        });
+    }
+
+    private static void submit(final Runnable task) {
+        final CountDownLatch done = sDone;
+        final AtomicInteger remaining = sRemaining;
+        final long start = sStartNanos;
+
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // เตรียมไม่สำเร็จก็ไม่เป็นไร GameActivity จะสร้างเองตามเดิม
+                    GameLog.e(TAG, "Warm-up task failed", e);
+                } finally {
+                    // งานที่ลดตัวนับถึง 0 มีงานเดียว จึงบันทึกเวลาครั้งเดียวแม้งานสุดท้ายเสร็จพร้อมกัน
+                    if (remaining.decrementAndGet() == 0) {
+                        Metrics.record(Metrics.WARM_UP, start);
+                        GameLog.i(TAG, "Warm-up finished");
+                    }
+                    done.countDown();
+                }
+            }
+        });
+    }
+
+    private static void prepareFirstQuiz(Context context) {
+        QuestionBank bank = WordCatalog.getBank(context);
+        Random random = new Random();
+        StudyScheduler studyScheduler = new StudyScheduler(context, bank, random);
+
+        int[] quizIndexes = new int[GameActivity.NUMBER_OF_QUESTIONS];
+        studyScheduler.pickQuestions(quizIndexes);
+
+        // decode รูปข้อแรกด้วยขนาดเดียวกับ ImageView ของหน้าเล่นเกม
+        Resources res = context.getResources();
+        BitmapCache.getInstance().prefetch(bank.get(quizIndexes[0]),
+                res.getDimensionPixelSize(R.dimen.question_image_width),
+                res.getDimensionPixelSize(R.dimen.question_image_height));
+
+        synchronized (WarmUp.class) {
+            sPrepared = new PreparedQuiz(bank, random, studyScheduler, quizIndexes);
+        }
+    }
+
+    /**
+     * คืนคำถามชุดแรกที่เตรียมไว้แล้วถ้าเป็นของ bank นี้ ใช้ได้ครั้งเดียว
+     * คืน null ถ้ายังเตรียมไม่เสร็จ ไม่รอ
+     */
+    public static synchronized PreparedQuiz takePreparedQuiz(QuestionBank bank) {
+        PreparedQuiz prepared = sPrepared;
+        if (prepared == null || prepared.bank != bank) {
+            return null;
+        }
+        sPrepared = null;
+        return prepared;
+    }
+
+    /**
+     * เรียกเมื่อคำถามข้อหนึ่งแสดงครบ (ปุ่มและรูป) ครั้งแรกของ process จะบันทึกเวลาตั้งแต่เริ่มแอป
+     */
+    public static synchronized void onQuestionShown() {
+        if (sFirstQuestionRecorded || sExecutor == null) {
+            return;
+        }
+        sFirstQuestionRecorded = true;
+
+        Metrics.record(Metrics.FIRST_QUESTION, sStartNanos);
+        final long elapsedNanos = Metrics.start() - sStartNanos;
+        GameLog.i(TAG, new GameLog.Message() {
+            @Override
+            public String get() {
+                return "First question ready after " + elapsedNanos / 1000000 + " ms";
+            }
+        });
+    }
+
+    /**
+     * รอจนงานเตรียมทั้งหมดเสร็จ คืน false ถ้าเกินเวลา (ใช้ในเทสต์)
+     */
+    static boolean await(long timeoutMillis) throws InterruptedException {
+        CountDownLatch done;
+        synchronized (WarmUp.class) {
+            done = sDone;
+        }
+        return done == null || done.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * หยุด thread ของงานเตรียมแล้วล้างสถานะ ให้ process เหมือนเพิ่งเริ่ม (ใช้ในเทสต์)
+     */
+    static void resetForTest(long timeoutMillis) throws InterruptedException {
+        ThreadPoolExecutor executor;
+        synchronized (WarmUp.class) {
+            executor = sExecutor;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            if (executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS) == false) {
+                throw new IllegalStateException("Warm-up still running");
+            }
+        }
+
+        synchronized (WarmUp.class) {
+            sExecutor = null;
+            sDone = null;
+            sRemaining = null;
+            sPrepared = null;
+            sFirstQuestionRecorded = false;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.wordquizgame;
+
+import android.content.Context;
+
+import com.example.wordquizgame.bank.FileWordPack;
+import com.example.wordquizgame.bank.PackedWordPack;
+import com.example.wordquizgame.bank.QuestionBank;
+import com.example.wordquizgame.bank.WordPack;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * คลังคำถามของทั้งแอป (คำศัพท์ใน assets/words.pack รวมกับชุดที่ดาวน์โหลดไว้ใน files/packs)
+ * สร้างครั้งเดียวต่อ process แล้วใช้ร่วมกันทุกหน้าจอ ชุดที่ดาวน์โหลดเพิ่มจะเห็นเมื่อเปิดแอปครั้งถัดไป
+ * (index ของคำถามใน GameActivity และ GameSnapshot อ้างถึงคลังนี้ จึงเปลี่ยนคลังกลาง process ไม่ได้)
+ */
+public class WordCatalog {
+
+    private static final String TAG = "WordCatalog";
+
+    public static final String PACKS_DIR = "packs";
+
+    private static QuestionBank sBank;
+    private static Thread sLoader;
+
+    /**
+     * เริ่มสร้างคลังคำถามใน background thread ถ้ายังไม่ได้สร้าง
+     */
+    public static synchronized void preload(Context context) {
+        if (sBank != null || sLoader != null) {
+            return;
+        }
+
+        final Context appContext = context.getApplicationContext();
+        sLoader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                QuestionBank bank = build(appContext);
+                synchronized (WordCatalog.class) {
+                    sBank = bank;
+                    sLoader = null;
+                    WordCatalog.class.notifyAll();
+                }
+            }
+        }, TAG);
+        sLoader.start();
+    }
+
+    /**
+     * คืนคลังคำถามที่สร้างแล้ว ถ้ายังโหลดอยู่จะรอจนเสร็จ ถ้ายังไม่เคยโหลดจะสร้างทันที
+     */
+    public static synchronized QuestionBank getBank(Context context) {
+        while (sBank == null && sLoader != null) {
+            try {
+                WordCatalog.class.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (sBank == null) {
+            sBank = build(context.getApplicationContext());
+        }
+        return sBank;
+    }
+
+    /**
+     * รอ thread ที่โหลดอยู่ให้เสร็จ แล้วลืมคลังที่สร้างไว้ (ใช้ในเทสต์)
+     */
+    static void resetForTest() throws InterruptedException {
+        Thread loader;
+        synchronized (WordCatalog.class) {
+            loader = sLoader;
+        }
+        if (loader != null) {
+            loader.join();
+        }
+
+        synchronized (WordCatalog.class) {
+            sBank = null;
+            sLoader = null;
+        }
+    }
+
+    private static QuestionBank build(Context context) {
+        List<WordPack> packs = new ArrayList<WordPack>();
+        packs.add(new PackedWordPack(context.getAssets()));
+
+        File[] packDirs = new File(context.getFilesDir(), PACKS_DIR).listFiles();
+        if (packDirs != null) {
+            for (File dir : packDirs) {
+                if (dir.isDirectory()) {
+                    packs.add(new FileWordPack(dir));
+                }
+            }
+        }
+
+        final QuestionBank bank = QuestionBank.load(packs);
+        bank.getDistractorIndex();
+        final int packCount = packs.size();
+        GameLog.i(TAG, new GameLog.Message() {
+            @Override
+            public String get() {
+                return "Loaded " + bank.size() + " words from " + packCount + " packs";
+            }
+        });
+        return bank;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.wordquizgame;
+
+import android.app.Application;
+
+/**
+ * เริ่มเตรียมของสำหรับหน้าเล่นเกมตั้งแต่ process เริ่ม ก่อนหน้าหลักจะแสดง
+ */
+public class WordQuizApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        ResourceManager.install(this);
+        GameJournal.start(this);
+        WarmUp.start(this);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.wordquizgame.bank;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * ชุดคำศัพท์ที่ดาวน์โหลดมาเก็บในเครื่อง โครงสร้างเหมือน assets คือ &lt;dir&gt;/&lt;category&gt;/*.png
+ * <p>
+ * รายชื่อไฟล์อ่านจาก index.txt (หนึ่งบรรทัดต่อรูป เช่น fruits/fruits-apple.png)
+ * ถ้ายังไม่มีจะสแกนโฟลเดอร์ครั้งเดียวแล้วเขียน index ไว้ใช้ครั้งต่อไป
+ */
+public class FileWordPack extends WordPack {
+
+    public static final String INDEX_FILE_NAME = "index.txt";
+
+    private final File dir;
+
+    public FileWordPack(File dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public void load(List<Question> out) throws IOException {
+        File index = new File(dir, INDEX_FILE_NAME);
+        if (index.exists() == false) {
+            writeIndex(index);
+        }
+
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(index), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int slash = line.indexOf('/');
+                if (slash <= 0) {
+                    continue;
+                }
+
+                String category = line.substring(0, slash);
+                String fileName = line.substring(slash + 1);
+                if (isImage(fileName)) {
+                    out.add(newQuestion(category, fileName, dir.getPath() + "/" + line));
+                }
+            }
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private void writeIndex(File index) throws IOException {
+        File[] categoryDirs = dir.listFiles();
+        if (categoryDirs == null) {
+            throw new IOException("Cannot list word pack " + dir);
+        }
+
+        File tmp = new File(dir, INDEX_FILE_NAME + ".tmp");
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8"));
+        try {
+            for (File categoryDir : categoryDirs) {
+                String[] fileNames = categoryDir.list();
+                if (fileNames == null) {
+                    continue;
+                }
+
+                for (String fileName : fileNames) {
+                    if (isImage(fileName)) {
+                        writer.write(categoryDir.getName() + "/" + fileName + "\n");
+                    }
+                }
+            }
+        } finally {
+            closeQuietly(writer);
+        }
+
+        if (tmp.renameTo(index) == false) {
+            throw new IOException("Cannot write index for word pack " + dir);
+        }
+    }
+
+    @Override
+    public InputStream open(String imagePath) throws IOException {
+        return new FileInputStream(imagePath);
+    }
+
+    private static void closeQuietly(Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void closeQuietly(Writer writer) {
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.wordquizgame.bank;
+
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import com.example.wordquizgame.core.ImagePack;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * คำศัพท์ที่มากับแอป รูปทั้งหมดรวมอยู่ในไฟล์ pack ไฟล์เดียวใน assets (สร้างตอน build)
+ * <p>
+ * ไฟล์ pack ถูกเก็บใน APK แบบไม่บีบอัด (aaptOptions noCompress) จึง memory-map ได้โดยตรง
+ * การเปิดรูปแต่ละรูปเป็นแค่การชี้ไปยังช่วง byte ตาม word ID ไม่ต้องเปิดไฟล์ใหม่
+ */
+public class PackedWordPack extends WordPack {
+
+    public static final String ASSET_NAME = "words.pack";
+
+    private final AssetManager assets;
+    private final String assetName;
+
+    private ImagePack pack;
+
+    public PackedWordPack(AssetManager assets) {
+        this(assets, ASSET_NAME);
+    }
+
+    public PackedWordPack(AssetManager assets, String assetName) {
+        this.assets = assets;
+        this.assetName = assetName;
+    }
+
+    @Override
+    public void load(List<Question> out) throws IOException {
+        pack = new ImagePack(map());
+
+        for (int id = 0; id < pack.size(); id++) {
+            String path = pack.getPath(id);
+            int slash = path.indexOf('/');
+            String fileName = path.substring(slash + 1);
+
+            if (slash > 0 && isImage(fileName)) {
+                out.add(newQuestion(path.substring(0, slash), fileName, path, id));
+            }
+        }
+    }
+
+    private ByteBuffer map() throws IOException {
+        AssetFileDescriptor fd = assets.openFd(assetName);
+        try {
+            FileInputStream stream = fd.createInputStream();
+            try {
+                // mapping ยังใช้ได้หลังปิดไฟล์
+                return stream.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                        fd.getStartOffset(), fd.getLength());
+            } finally {
+                stream.close();
+            }
+        } finally {
+            fd.close();
+        }
+    }
+
+    @Override
+    public InputStream open(Question question) throws IOException {
+        return pack.open(question.packId);
+    }
+
+    @Override
+    public InputStream open(String imagePath) throws IOException {
+        int id = pack.indexOf(imagePath);
+        if (id < 0) {
+            throw new IOException("No image " + imagePath + " in " + assetName);
+        }
+        return pack.open(id);
+    }
+}
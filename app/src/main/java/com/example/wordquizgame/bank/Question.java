@@ -0,0 +1,46 @@
+package com.example.wordquizgame.bank;
+
+import com.example.wordquizgame.core.Words;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * คำศัพท์หนึ่งคำในคลังคำถาม เก็บคำตอบและ path ของรูปที่คำนวณไว้ล่วงหน้าแล้ว
+ */
+public class Question {
+
+    public final String category;
+    public final String name;
+    public final String word;
+    public final String imagePath;
+
+    /**
+     * ลำดับของรูปในชุดคำศัพท์ที่เปิดรูปด้วย ID ได้ (เช่น {@link PackedWordPack}) หรือ -1
+     */
+    final int packId;
+
+    private final WordPack pack;
+
+    Question(WordPack pack, String category, String imageFileName, String imagePath) {
+        this(pack, category, imageFileName, imagePath, -1);
+    }
+
+    Question(WordPack pack, String category, String imageFileName, String imagePath, int packId) {
+        this.pack = pack;
+        this.packId = packId;
+        this.category = category;
+        this.name = imageFileName.substring(0, imageFileName.lastIndexOf('.'));
+        this.word = Words.getWord(name);
+        this.imagePath = imagePath;
+    }
+
+    public InputStream openImage() throws IOException {
+        return pack.open(this);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.wordquizgame.bank;
+
+import com.example.wordquizgame.GameLog;
+import com.example.wordquizgame.core.DistractorIndex;
+import com.example.wordquizgame.core.WordList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * คลังคำถามแบบอ่านอย่างเดียว อ้างถึงคำถามด้วย index จึงสุ่มและเข้าถึงได้ใน O(1)
+ */
+public class QuestionBank implements WordList {
+
+    private static final String TAG = "QuestionBank";
+
+    private final Question[] questions;
+    private final String[] categories;
+
+    private DistractorIndex distractorIndex;
+
+    private QuestionBank(Question[] questions) {
+        this.questions = questions;
+
+        Set<String> categorySet = new LinkedHashSet<String>();
+        for (Question question : questions) {
+            categorySet.add(question.category);
+        }
+        this.categories = categorySet.toArray(new String[categorySet.size()]);
+    }
+
+    /**
+     * รวมคำศัพท์จากหลายชุด ถ้าชุดไหนอ่านไม่ได้จะข้ามไป
+     * คำที่สะกดซ้ำกับคำที่มีอยู่แล้ว (จากชุดก่อนหน้า) จะถูกข้าม ปุ่มตัวเลือกจึงไม่มีคำซ้ำกัน
+     */
+    public static QuestionBank load(Collection<? extends WordPack> packs) {
+        List<Question> questions = new ArrayList<Question>();
+        List<Question> loaded = new ArrayList<Question>();
+        Set<String> words = new HashSet<String>();
+
+        for (WordPack pack : packs) {
+            loaded.clear();
+            try {
+                pack.load(loaded);
+            } catch (IOException e) {
+                GameLog.e(TAG, "Error loading word pack " + pack, e);
+                continue;
+            }
+
+            int duplicates = 0;
+            for (Question question : loaded) {
+                if (words.add(question.word)) {
+                    questions.add(question);
+                } else {
+                    duplicates++;
+                }
+            }
+            if (duplicates > 0) {
+                GameLog.w(TAG, "Skipped " + duplicates + " duplicate words in word pack " + pack);
+            }
+        }
+
+        return new QuestionBank(questions.toArray(new Question[questions.size()]));
+    }
+
+    public static QuestionBank load(WordPack... packs) {
+        return load(Arrays.asList(packs));
+    }
+
+    @Override
+    public int size() {
+        return questions.length;
+    }
+
+    public Question get(int index) {
+        return questions[index];
+    }
+
+    @Override
+    public String getWord(int index) {
+        return questions[index].word;
+    }
+
+    @Override
+    public String getCategory(int index) {
+        return questions[index].category;
+    }
+
+    /**
+     * ดัชนีตัวหลอกของคลังนี้ สร้างครั้งแรกที่เรียก (เรียงคำ O(n log n)) แล้วใช้ซ้ำ
+     */
+    public synchronized DistractorIndex getDistractorIndex() {
+        if (distractorIndex == null) {
+            distractorIndex = new DistractorIndex(this);
+        }
+        return distractorIndex;
+    }
+
+    public String[] getCategories() {
+        return categories.clone();
+    }
+
+    /**
+     * คืนคลังใหม่ที่มีเฉพาะหมวดที่เลือก (ใช้ Question ชุดเดิม ไม่ได้อ่านไฟล์ใหม่)
+     */
+    public QuestionBank filter(Collection<String> selectedCategories) {
+        Set<String> selected = new HashSet<String>(selectedCategories);
+        List<Question> filtered = new ArrayList<Question>();
+
+        for (Question question : questions) {
+            if (selected.contains(question.category)) {
+                filtered.add(question);
+            }
+        }
+
+        return new QuestionBank(filtered.toArray(new Question[filtered.size()]));
+    }
+}
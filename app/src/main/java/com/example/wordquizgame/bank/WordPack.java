@@ -0,0 +1,38 @@
+package com.example.wordquizgame.bank;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * แหล่งที่มาของคำศัพท์ชุดหนึ่ง รูปแต่ละไฟล์ตั้งชื่อแบบ &lt;category&gt;/&lt;category&gt;-&lt;word&gt;.png
+ */
+public abstract class WordPack {
+
+    /**
+     * อ่านรายชื่อคำศัพท์ทั้งหมดในชุดนี้ เรียกครั้งเดียวตอนสร้าง {@link QuestionBank}
+     */
+    public abstract void load(List<Question> out) throws IOException;
+
+    public abstract InputStream open(String imagePath) throws IOException;
+
+    /**
+     * เปิดรูปของคำถามที่สร้างจากชุดนี้ ชุดที่รู้ตำแหน่งรูปจาก ID อยู่แล้วให้ override
+     */
+    public InputStream open(Question question) throws IOException {
+        return open(question.imagePath);
+    }
+
+    protected Question newQuestion(String category, String imageFileName, String imagePath) {
+        return new Question(this, category, imageFileName, imagePath);
+    }
+
+    protected Question newQuestion(String category, String imageFileName, String imagePath,
+                                   int packId) {
+        return new Question(this, category, imageFileName, imagePath, packId);
+    }
+
+    static boolean isImage(String fileName) {
+        return fileName.endsWith(".png") && fileName.indexOf('-') > 0;
+    }
+}
@@ -3,19 +3,37 @@ package com.example.wordquizgame.db;
 import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
-import android.util.Log;
+
+import com.example.wordquizgame.GameLog;
 
 public class DatabaseHelper extends SQLiteOpenHelper {
 
     private static final String TAG = "DatabaseHelper";
 
     private static final String DATABASE_NAME = "game.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 5;
 
     public static final String TABLE_NAME = "scores";
     public static final String COL_ID = "_id";
     public static final String COL_SCORE = "score";
     public static final String COL_DIFFICULTY = "difficulty";
+    public static final String COL_TIMESTAMP = "created_at";
+    public static final String COL_LATENCY = "latency_ms";
+
+    public static final String INDEX_DIFFICULTY_SCORE = "idx_scores_difficulty_score";
+
+    public static final String STATS_TABLE_NAME = "score_stats";
+    public static final String COL_GAMES = "games";
+    public static final String COL_BEST = "best";
+    public static final String COL_TOTAL = "total";
+
+    public static final String PROGRESS_TABLE_NAME = "word_progress";
+    public static final String COL_NAME = "name";
+    public static final String COL_BOX = "box";
+    public static final String COL_DUE = "due";
+    public static final String COL_CORRECT = "correct";
+    public static final String COL_ATTEMPTS = "attempts";
+    public static final String COL_LAST_ROUND = "last_round";
 
     public static final int DIFFICULTY_EASY = 0;
     public static final int DIFFICULTY_MEDIUM = 1;
@@ -27,17 +45,71 @@ public class DatabaseHelper extends SQLiteOpenHelper {
 
     @Override
     public void onCreate(SQLiteDatabase db) {
-        Log.d(TAG, "Creating table");
+        GameLog.d(TAG, "Creating table");
 
         String SQL_CREATE_TABLE = "CREATE TABLE " + TABLE_NAME + "("
                 + COL_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
                 + COL_SCORE + " REAL, "
                 + COL_DIFFICULTY + " INTEGER" + ")";
         db.execSQL(SQL_CREATE_TABLE);
+
+        onUpgrade(db, 1, DATABASE_VERSION);
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            GameLog.d(TAG, "Upgrading to version 2");
+
+            db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN "
+                    + COL_TIMESTAMP + " INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE INDEX " + INDEX_DIFFICULTY_SCORE + " ON " + TABLE_NAME + "("
+                    + COL_DIFFICULTY + ", " + COL_SCORE + " DESC)");
+        }
+        if (oldVersion < 3) {
+            GameLog.d(TAG, "Upgrading to version 3");
+
+            db.execSQL("CREATE TABLE " + STATS_TABLE_NAME + "("
+                    + COL_DIFFICULTY + " INTEGER PRIMARY KEY, "
+                    + COL_GAMES + " INTEGER NOT NULL DEFAULT 0, "
+                    + COL_BEST + " REAL NOT NULL DEFAULT 0, "
+                    + COL_TOTAL + " REAL NOT NULL DEFAULT 0" + ")");
+            rebuildStats(db);
+        }
+        if (oldVersion < 4) {
+            GameLog.d(TAG, "Upgrading to version 4");
+
+            db.execSQL("CREATE TABLE " + PROGRESS_TABLE_NAME + "("
+                    + COL_NAME + " TEXT PRIMARY KEY, "
+                    + COL_BOX + " INTEGER NOT NULL DEFAULT 0, "
+                    + COL_DUE + " INTEGER NOT NULL DEFAULT 0, "
+                    + COL_CORRECT + " INTEGER NOT NULL DEFAULT 0, "
+                    + COL_ATTEMPTS + " INTEGER NOT NULL DEFAULT 0, "
+                    + COL_LAST_ROUND + " INTEGER NOT NULL DEFAULT 0" + ")");
+        }
+        if (oldVersion < 5) {
+            GameLog.d(TAG, "Upgrading to version 5");
+
+            // เวลาเฉลี่ย (ms) ตั้งแต่แสดงคำถามจนตอบถูก เกมที่เล่นก่อนหน้านี้เป็น 0
+            db.execSQL("ALTER TABLE " + TABLE_NAME + " ADD COLUMN "
+                    + COL_LATENCY + " INTEGER NOT NULL DEFAULT 0");
+        }
+    }
 
+    /**
+     * คำนวณ score_stats ใหม่ทั้งหมดจากตาราง scores
+     */
+    public static void rebuildStats(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            db.delete(STATS_TABLE_NAME, null, null);
+            db.execSQL("INSERT INTO " + STATS_TABLE_NAME + "("
+                    + COL_DIFFICULTY + ", " + COL_GAMES + ", " + COL_BEST + ", " + COL_TOTAL + ") "
+                    + "SELECT " + COL_DIFFICULTY + ", COUNT(*), MAX(" + COL_SCORE + "), SUM(" + COL_SCORE + ") "
+                    + "FROM " + TABLE_NAME + " GROUP BY " + COL_DIFFICULTY);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
     }
 }
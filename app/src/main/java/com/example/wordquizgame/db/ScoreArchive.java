@@ -0,0 +1,148 @@
+package com.example.wordquizgame.db;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * ส่งออก/นำเข้าตาราง scores เป็นไฟล์ binary ขนาดเล็กแบบ stream
+ * <p>
+ * ไฟล์ขึ้นต้นด้วย header (magic, version) ตามด้วยหนึ่ง record ขนาดคงที่ต่อแถว:
+ * tag, score (double), difficulty (byte), created_at (long) และ latency_ms (int)
+ * ปิดท้ายด้วย tag จบและจำนวนแถว ไฟล์ที่ถูกตัดจึงตรวจพบได้
+ * ตอนส่งออกอ่านทีละช่วงตาม _id ตอนนำเข้าใช้ INSERT ที่ compile ไว้ตัวเดียวใน transaction เดียว
+ * หน่วยความจำที่ใช้จึงไม่ขึ้นกับจำนวนแถว
+ * <p>
+ * การนำเข้าทั้งไฟล์เป็น transaction เดียวแลกกับการที่ writer thread ถูกใช้ตลอดการนำเข้า
+ * (คะแนนใหม่จะรอคิวจนนำเข้าเสร็จ) และไฟล์ WAL จะโตตามจำนวนแถวจนกว่าจะ commit
+ * ไฟล์ล้านแถวจึงใช้เวลาหลายวินาทีและพื้นที่ WAL หลายสิบ MB ระหว่างนั้น
+ */
+public class ScoreArchive {
+
+    public static final int MAGIC = 0x57515343; // "WQSC"
+    public static final int VERSION = 1;
+
+    /**
+     * จำนวนแถวต่อหนึ่ง query ตอนส่งออก
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    private static final int TAG_ROW = 1;
+    private static final int TAG_END = 0;
+
+    private static final String[] COLUMNS = {
+            DatabaseHelper.COL_ID,
+            DatabaseHelper.COL_SCORE,
+            DatabaseHelper.COL_DIFFICULTY,
+            DatabaseHelper.COL_TIMESTAMP,
+            DatabaseHelper.COL_LATENCY
+    };
+
+    private ScoreArchive() {
+    }
+
+    /**
+     * เขียนทุกแถวของตาราง scores ลง out เรียงตาม _id แล้วคืนจำนวนแถว
+     * ผู้เรียกเป็นเจ้าของ out และควรครอบด้วย buffer
+     */
+    public static long export(SQLiteDatabase db, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        String[] args = new String[1];
+        long lastId = -1;
+        long count = 0;
+
+        while (true) {
+            // อ่านต่อจาก _id ล่าสุด แต่ละช่วงจึงเป็นการ scan สั้น ๆ บน primary key
+            args[0] = String.valueOf(lastId);
+            Cursor cursor = db.query(DatabaseHelper.TABLE_NAME, COLUMNS,
+                    DatabaseHelper.COL_ID + " > ?", args, null, null,
+                    DatabaseHelper.COL_ID, String.valueOf(BATCH_SIZE));
+            ScoreRepository.cursorOpened();
+
+            int rows = 0;
+            try {
+                while (cursor.moveToNext()) {
+                    lastId = cursor.getLong(0);
+                    out.writeByte(TAG_ROW);
+                    out.writeDouble(cursor.getDouble(1));
+                    out.writeByte(cursor.getInt(2));
+                    out.writeLong(cursor.getLong(3));
+                    out.writeInt(cursor.getInt(4));
+                    rows++;
+                }
+            } finally {
+                ScoreRepository.closeCursor(cursor);
+            }
+
+            count += rows;
+            if (rows < BATCH_SIZE) {
+                break;
+            }
+        }
+
+        out.writeByte(TAG_END);
+        out.writeLong(count);
+        out.flush();
+        return count;
+    }
+
+    /**
+     * เพิ่มแถวจากไฟล์ที่เขียนด้วย {@link #export} แล้วคืนจำนวนแถวที่เพิ่ม แถวที่นำเข้าจะได้ id ใหม่
+     * ทั้งไฟล์อยู่ใน transaction เดียว ถ้าไฟล์เสียกลางทางจะไม่มีแถวใดถูกเพิ่ม จึงลองนำเข้าใหม่ได้
+     * (แต่นำเข้าไฟล์เดิมซ้ำหลังจากสำเร็จแล้วจะได้ทุกแถวซ้ำอีกชุด ไม่มีการตัดแถวซ้ำ)
+     * (ไม่ yield ระหว่างทางเพราะ yield จะ commit ส่วนที่นำเข้าไปแล้ว ส่วนผู้อ่านยังอ่านได้ตามปกติผ่าน WAL)
+     * ผู้เรียกต้องคำนวณ score_stats ใหม่หลังนำเข้า
+     */
+    public static long importInto(SQLiteDatabase db, DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a score archive");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported score archive version " + version);
+        }
+
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + DatabaseHelper.TABLE_NAME
+                + "(" + DatabaseHelper.COL_SCORE + ", " + DatabaseHelper.COL_DIFFICULTY + ", "
+                + DatabaseHelper.COL_TIMESTAMP + ", " + DatabaseHelper.COL_LATENCY
+                + ") VALUES (?, ?, ?, ?)");
+
+        long count = 0;
+        db.beginTransaction();
+        try {
+            while (true) {
+                int tag = in.readByte();
+                if (tag == TAG_END) {
+                    break;
+                }
+                if (tag != TAG_ROW) {
+                    throw new IOException("Bad record tag " + tag + " after " + count + " rows");
+                }
+
+                insert.bindDouble(1, in.readDouble());
+                insert.bindLong(2, in.readByte());
+                insert.bindLong(3, in.readLong());
+                insert.bindLong(4, in.readInt());
+                insert.executeInsert();
+                count++;
+            }
+
+            // ตรวจจำนวนแถวก่อน commit ไฟล์ที่จำนวนไม่ตรงจะไม่ทิ้งแถวไว้เลย
+            long expected = in.readLong();
+            if (expected != count) {
+                throw new IOException("Score archive holds " + expected + " rows but " + count + " were read");
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+        return count;
+    }
+}
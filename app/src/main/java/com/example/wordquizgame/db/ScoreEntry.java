@@ -0,0 +1,19 @@
+package com.example.wordquizgame.db;
+
+/**
+ * คะแนนหนึ่งแถวในตาราง scores
+ */
+public class ScoreEntry {
+
+    public final long id;
+    public final double score;
+    public final int difficulty;
+    public final long timestamp;
+
+    public ScoreEntry(long id, double score, int difficulty, long timestamp) {
+        this.id = id;
+        this.score = score;
+        this.difficulty = difficulty;
+        this.timestamp = timestamp;
+    }
+}
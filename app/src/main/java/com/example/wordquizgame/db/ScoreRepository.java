@@ -0,0 +1,544 @@
+package com.example.wordquizgame.db;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.wordquizgame.GameLog;
+import com.example.wordquizgame.Metrics;
+import com.example.wordquizgame.ResourceManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * จุดเข้าถึงฐานข้อมูลคะแนนจุดเดียวของแอป ถือ connection เพียงตัวเดียว
+ * และเขียนคะแนนใน background thread โดยรวมคะแนนที่รออยู่เป็น transaction เดียว
+ */
+public class ScoreRepository {
+
+    private static final String TAG = "ScoreRepository";
+
+    // ขนาด CursorWindow ปริยายของ Android นับ cursor ที่เปิดอยู่ตัวละหนึ่ง window เต็ม
+    private static final long CURSOR_WINDOW_BYTES = 2 * 1024 * 1024;
+
+    private static ScoreRepository sInstance;
+    private static final AtomicInteger sOpenCursors = new AtomicInteger();
+
+    /**
+     * รายงานหน่วยความจำของ cursor ที่เปิดอยู่ และคืนแคชของ SQLite เมื่อถูกสั่ง trim
+     * ทุกเมธอดปิด cursor ก่อนคืนค่า จึงนับเฉพาะการอ่านที่กำลังทำอยู่
+     */
+    public static final ResourceManager.Pool POOL = new ResourceManager.Pool() {
+        @Override
+        public long getBytes() {
+            return sOpenCursors.get() * CURSOR_WINDOW_BYTES;
+        }
+
+        @Override
+        public void trim(int tier) {
+            SQLiteDatabase.releaseMemory();
+        }
+    };
+
+    private final DatabaseHelper dbHelper;
+    private final ExecutorService writer;
+    private final ExecutorService reader;
+    private final Handler mainHandler;
+    private final Object lock = new Object();
+
+    private SQLiteDatabase db;
+    private SQLiteStatement ensureStatsStatement;
+    private SQLiteStatement updateStatsStatement;
+    private List<ContentValues> pending = new ArrayList<ContentValues>();
+    private boolean drainScheduled;
+
+    public static synchronized ScoreRepository getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new ScoreRepository(new DatabaseHelper(context.getApplicationContext()));
+        }
+        return sInstance;
+    }
+
+    private ScoreRepository(DatabaseHelper dbHelper) {
+        this.dbHelper = dbHelper;
+        this.writer = Executors.newSingleThreadExecutor();
+        this.reader = Executors.newSingleThreadExecutor();
+        this.mainHandler = new Handler(Looper.getMainLooper());
+    }
+
+    public interface Callback<T> {
+        void onLoaded(T result);
+    }
+
+    /**
+     * คืน connection ที่ใช้ร่วมกัน เปิดพร้อม write-ahead logging ในครั้งแรก
+     */
+    public synchronized SQLiteDatabase getDatabase() {
+        if (db == null) {
+            db = dbHelper.getWritableDatabase();
+            db.enableWriteAheadLogging();
+        }
+        return db;
+    }
+
+    /**
+     * ใส่คะแนนเข้าคิวรอเขียน ไม่แตะฐานข้อมูลบน thread ที่เรียก
+     */
+    public void addScore(double score, int difficulty) {
+        addScore(score, difficulty, 0);
+    }
+
+    /**
+     * ใส่คะแนนเข้าคิวพร้อมเวลาตอบเฉลี่ยของเกม (ms)
+     */
+    public void addScore(double score, int difficulty, long latencyMillis) {
+        ContentValues cv = new ContentValues();
+        cv.put(DatabaseHelper.COL_SCORE, score);
+        cv.put(DatabaseHelper.COL_DIFFICULTY, difficulty);
+        cv.put(DatabaseHelper.COL_TIMESTAMP, System.currentTimeMillis());
+        cv.put(DatabaseHelper.COL_LATENCY, latencyMillis);
+
+        synchronized (lock) {
+            pending.add(cv);
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        });
+    }
+
+    /**
+     * รอจนคะแนนทุกรายการที่เข้าคิวก่อนเรียกเมธอดนี้ถูกเขียนแล้ว
+     */
+    public void flush() {
+        try {
+            writer.submit(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            GameLog.e(TAG, "Error flushing scores", e);
+        }
+    }
+
+    /**
+     * คืนคะแนนหนึ่งหน้าของระดับความยาก เรียงจากคะแนนสูงสุด (คะแนนเท่ากันเรียงตาม _id)
+     * หน้าถัดไปเริ่มต่อจาก after ซึ่งเป็นแถวสุดท้ายของหน้าก่อน ส่ง null เพื่อเอาหน้าแรก
+     * <p>
+     * ใช้ keyset แทน OFFSET จึงกระโดดไปที่ตำแหน่งใน index (difficulty, score DESC) ได้เลย
+     * (index ของ SQLite มี rowid ต่อท้ายอยู่แล้ว) เวลาที่ใช้ขึ้นกับขนาดหน้า ไม่ขึ้นกับว่าเลื่อนลงมาลึกแค่ไหน
+     */
+    public List<ScoreEntry> getTopScores(int difficulty, ScoreEntry after, int limit) {
+        String selection = DatabaseHelper.COL_DIFFICULTY + " = ?";
+        String[] selectionArgs;
+        if (after == null) {
+            selectionArgs = new String[]{String.valueOf(difficulty)};
+        } else {
+            selection += " AND (" + DatabaseHelper.COL_SCORE + " < ? OR ("
+                    + DatabaseHelper.COL_SCORE + " = ? AND " + DatabaseHelper.COL_ID + " > ?))";
+            selectionArgs = new String[]{String.valueOf(difficulty),
+                    String.valueOf(after.score),
+                    String.valueOf(after.score),
+                    String.valueOf(after.id)};
+        }
+
+        Cursor cursor = getDatabase().query(
+                DatabaseHelper.TABLE_NAME,
+                new String[]{DatabaseHelper.COL_ID,
+                        DatabaseHelper.COL_SCORE,
+                        DatabaseHelper.COL_DIFFICULTY,
+                        DatabaseHelper.COL_TIMESTAMP},
+                selection,
+                selectionArgs,
+                null,
+                null,
+                DatabaseHelper.COL_SCORE + " DESC, " + DatabaseHelper.COL_ID,
+                String.valueOf(limit)
+        );
+        cursorOpened();
+
+        List<ScoreEntry> entries = new ArrayList<ScoreEntry>(cursor.getCount());
+        try {
+            while (cursor.moveToNext()) {
+                entries.add(new ScoreEntry(
+                        cursor.getLong(0),
+                        cursor.getDouble(1),
+                        cursor.getInt(2),
+                        cursor.getLong(3)
+                ));
+            }
+        } finally {
+            closeCursor(cursor);
+        }
+        return entries;
+    }
+
+    /**
+     * โหลดคะแนนหนึ่งหน้าใน background thread แล้วส่งผลกลับบน main thread
+     */
+    public void loadTopScores(final int difficulty, final ScoreEntry after, final int limit,
+                              final Callback<List<ScoreEntry>> callback) {
+        reader.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<ScoreEntry> entries = getTopScores(difficulty, after, limit);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onLoaded(entries);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * คืนสรุปคะแนนของระดับความยาก อ่านแถวเดียวจาก score_stats
+     */
+    public ScoreStats getStats(int difficulty) {
+        Cursor cursor = getDatabase().query(
+                DatabaseHelper.STATS_TABLE_NAME,
+                new String[]{DatabaseHelper.COL_GAMES,
+                        DatabaseHelper.COL_BEST,
+                        DatabaseHelper.COL_TOTAL},
+                DatabaseHelper.COL_DIFFICULTY + " = ?",
+                new String[]{String.valueOf(difficulty)},
+                null,
+                null,
+                null
+        );
+        cursorOpened();
+
+        try {
+            if (cursor.moveToFirst()) {
+                return new ScoreStats(difficulty,
+                        cursor.getInt(0), cursor.getDouble(1), cursor.getDouble(2));
+            }
+            return new ScoreStats(difficulty, 0, 0, 0);
+        } finally {
+            closeCursor(cursor);
+        }
+    }
+
+    public void loadStats(final int difficulty, final Callback<ScoreStats> callback) {
+        reader.execute(new Runnable() {
+            @Override
+            public void run() {
+                final ScoreStats stats = getStats(difficulty);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onLoaded(stats);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * คำนวณตารางสรุปใหม่จากตาราง scores ทำบน writer thread จึงไม่แทรกกับคะแนนที่รอเขียน
+     */
+    public void rebuildStats() {
+        runOnWriter(new Runnable() {
+            @Override
+            public void run() {
+                DatabaseHelper.rebuildStats(getDatabase());
+            }
+        });
+    }
+
+    /**
+     * ตรวจตารางสรุปเทียบกับการรวมค่าจากตาราง scores คืน true ถ้าตรงกันทุกระดับความยาก
+     */
+    public boolean verifyStats() {
+        final boolean[] result = new boolean[1];
+        runOnWriter(new Runnable() {
+            @Override
+            public void run() {
+                result[0] = verifyStatsOnWriter();
+            }
+        });
+        return result[0];
+    }
+
+    private boolean verifyStatsOnWriter() {
+        Cursor cursor = getDatabase().rawQuery(
+                "SELECT " + DatabaseHelper.COL_DIFFICULTY + ", COUNT(*), MAX("
+                        + DatabaseHelper.COL_SCORE + "), SUM(" + DatabaseHelper.COL_SCORE + ") FROM "
+                        + DatabaseHelper.TABLE_NAME + " GROUP BY " + DatabaseHelper.COL_DIFFICULTY,
+                null);
+        cursorOpened();
+
+        int difficulties = 0;
+        try {
+            while (cursor.moveToNext()) {
+                ScoreStats expected = new ScoreStats(cursor.getInt(0),
+                        cursor.getInt(1), cursor.getDouble(2), cursor.getDouble(3));
+                ScoreStats actual = getStats(expected.difficulty);
+
+                if (expected.equals(actual) == false) {
+                    GameLog.w(TAG, "Stats mismatch: expected " + expected + " but was " + actual);
+                    return false;
+                }
+                difficulties++;
+            }
+        } finally {
+            closeCursor(cursor);
+        }
+
+        long rows = DatabaseUtils.queryNumEntries(getDatabase(), DatabaseHelper.STATS_TABLE_NAME);
+        return rows == difficulties;
+    }
+
+    /**
+     * อ่านสถานะ spaced repetition ของทุกคำที่เคยเล่น โดยใช้ชื่อคำเป็น key
+     */
+    public Map<String, WordProgress> getWordProgress() {
+        Cursor cursor = getDatabase().query(
+                DatabaseHelper.PROGRESS_TABLE_NAME,
+                new String[]{DatabaseHelper.COL_NAME,
+                        DatabaseHelper.COL_BOX,
+                        DatabaseHelper.COL_DUE,
+                        DatabaseHelper.COL_CORRECT,
+                        DatabaseHelper.COL_ATTEMPTS,
+                        DatabaseHelper.COL_LAST_ROUND},
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+        cursorOpened();
+
+        Map<String, WordProgress> progress = new HashMap<String, WordProgress>();
+        try {
+            while (cursor.moveToNext()) {
+                WordProgress p = new WordProgress(cursor.getString(0));
+                p.box = cursor.getInt(1);
+                p.due = cursor.getLong(2);
+                p.correct = cursor.getInt(3);
+                p.attempts = cursor.getInt(4);
+                p.lastRound = cursor.getLong(5);
+                progress.put(p.name, p);
+            }
+        } finally {
+            closeCursor(cursor);
+        }
+        return progress;
+    }
+
+    /**
+     * บันทึก (insert หรือแทนที่) สถานะของคำหนึ่งคำบน writer thread
+     */
+    public void saveWordProgress(final WordProgress progress) {
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                ContentValues cv = new ContentValues();
+                cv.put(DatabaseHelper.COL_NAME, progress.name);
+                cv.put(DatabaseHelper.COL_BOX, progress.box);
+                cv.put(DatabaseHelper.COL_DUE, progress.due);
+                cv.put(DatabaseHelper.COL_CORRECT, progress.correct);
+                cv.put(DatabaseHelper.COL_ATTEMPTS, progress.attempts);
+                cv.put(DatabaseHelper.COL_LAST_ROUND, progress.lastRound);
+
+                long result = getDatabase().insertWithOnConflict(DatabaseHelper.PROGRESS_TABLE_NAME,
+                        null, cv, SQLiteDatabase.CONFLICT_REPLACE);
+                if (result == -1) {
+                    GameLog.e(TAG, "Error saving progress of " + progress.name);
+                }
+            }
+        });
+    }
+
+    /**
+     * ส่งออกตาราง scores ทั้งหมดลงไฟล์ (ดู {@link ScoreArchive}) แล้วคืนจำนวนแถว
+     * ทำบน writer thread หลังคะแนนที่รอเขียนทั้งหมด ไฟล์จึงเป็นสำเนาที่สอดคล้องกัน
+     */
+    public long exportScores(final File file) throws IOException {
+        return callOnWriter(new Callable<Long>() {
+            @Override
+            public Long call() throws IOException {
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(file)));
+                try {
+                    return ScoreArchive.export(getDatabase(), out);
+                } finally {
+                    out.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * นำเข้าคะแนนจากไฟล์ที่เขียนด้วย {@link #exportScores(File)} คำนวณตารางสรุปใหม่
+     * แล้วคืนจำนวนแถวที่เพิ่ม
+     */
+    public long importScores(final File file) throws IOException {
+        return callOnWriter(new Callable<Long>() {
+            @Override
+            public Long call() throws IOException {
+                DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(file)));
+                long count;
+                try {
+                    count = ScoreArchive.importInto(getDatabase(), in);
+                } finally {
+                    in.close();
+                }
+                // นำเข้าไม่สำเร็จจะไม่มีแถวใดถูกเพิ่ม สรุปเดิมจึงยังถูกต้อง
+                DatabaseHelper.rebuildStats(getDatabase());
+                return count;
+            }
+        });
+    }
+
+    private <T> T callOnWriter(Callable<T> task) throws IOException {
+        try {
+            return writer.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the database", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * รองานที่ค้างในคิวเขียนและอ่านให้เสร็จ หยุด thread ทั้งสอง ปิดฐานข้อมูล แล้วลืม instance เดิม (ใช้ในเทสต์)
+     */
+    static void resetForTest(long timeoutMillis) throws InterruptedException {
+        ScoreRepository instance;
+        synchronized (ScoreRepository.class) {
+            instance = sInstance;
+            sInstance = null;
+        }
+        if (instance == null) {
+            return;
+        }
+
+        instance.writer.shutdown();
+        instance.reader.shutdown();
+        instance.writer.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        instance.reader.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (instance.ensureStatsStatement != null) {
+            instance.ensureStatsStatement.close();
+        }
+        if (instance.updateStatsStatement != null) {
+            instance.updateStatsStatement.close();
+        }
+        synchronized (instance) {
+            instance.db = null;
+            instance.dbHelper.close();
+        }
+    }
+
+    static void cursorOpened() {
+        sOpenCursors.incrementAndGet();
+    }
+
+    static void closeCursor(Cursor cursor) {
+        cursor.close();
+        sOpenCursors.decrementAndGet();
+    }
+
+    private void runOnWriter(Runnable task) {
+        try {
+            writer.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            GameLog.e(TAG, "Error running database task", e);
+        }
+    }
+
+    private void updateStats(SQLiteDatabase db, int difficulty, double score) {
+        if (ensureStatsStatement == null) {
+            ensureStatsStatement = db.compileStatement("INSERT OR IGNORE INTO "
+                    + DatabaseHelper.STATS_TABLE_NAME + "(" + DatabaseHelper.COL_DIFFICULTY
+                    + ") VALUES (?)");
+            updateStatsStatement = db.compileStatement("UPDATE "
+                    + DatabaseHelper.STATS_TABLE_NAME + " SET "
+                    + DatabaseHelper.COL_GAMES + " = " + DatabaseHelper.COL_GAMES + " + 1, "
+                    + DatabaseHelper.COL_TOTAL + " = " + DatabaseHelper.COL_TOTAL + " + ?, "
+                    + DatabaseHelper.COL_BEST + " = CASE WHEN " + DatabaseHelper.COL_GAMES
+                    + " = 0 OR ? > " + DatabaseHelper.COL_BEST + " THEN ? ELSE "
+                    + DatabaseHelper.COL_BEST + " END"
+                    + " WHERE " + DatabaseHelper.COL_DIFFICULTY + " = ?");
+        }
+
+        ensureStatsStatement.bindLong(1, difficulty);
+        ensureStatsStatement.executeInsert();
+
+        updateStatsStatement.bindDouble(1, score);
+        updateStatsStatement.bindDouble(2, score);
+        updateStatsStatement.bindDouble(3, score);
+        updateStatsStatement.bindLong(4, difficulty);
+        updateStatsStatement.executeUpdateDelete();
+    }
+
+    private void drain() {
+        List<ContentValues> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayList<ContentValues>();
+            drainScheduled = false;
+        }
+
+        long start = Metrics.start();
+
+        SQLiteDatabase db = getDatabase();
+        db.beginTransaction();
+        try {
+            for (ContentValues cv : batch) {
+                long result = db.insert(DatabaseHelper.TABLE_NAME, null, cv);
+                if (result == -1) {
+                    GameLog.e(TAG, "Error inserting data into database");
+                } else {
+                    updateStats(db, cv.getAsInteger(DatabaseHelper.COL_DIFFICULTY),
+                            cv.getAsDouble(DatabaseHelper.COL_SCORE));
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        Metrics.record(Metrics.DB_WRITE, start);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.wordquizgame.db;
+
+/**
+ * สรุปผลทุกเกมของระดับความยากหนึ่ง อ่านจากตาราง score_stats
+ */
+public class ScoreStats {
+
+    public final int difficulty;
+    public final int gamesPlayed;
+    public final double bestScore;
+    public final double totalScore;
+
+    public ScoreStats(int difficulty, int gamesPlayed, double bestScore, double totalScore) {
+        this.difficulty = difficulty;
+        this.gamesPlayed = gamesPlayed;
+        this.bestScore = bestScore;
+        this.totalScore = totalScore;
+    }
+
+    public double getAverageScore() {
+        return gamesPlayed == 0 ? 0 : totalScore / gamesPlayed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof ScoreStats == false) {
+            return false;
+        }
+
+        ScoreStats other = (ScoreStats) o;
+        return difficulty == other.difficulty
+                && gamesPlayed == other.gamesPlayed
+                && Math.abs(bestScore - other.bestScore) < 1e-6
+                && Math.abs(totalScore - other.totalScore) < 1e-6;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * difficulty + gamesPlayed;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreStats{difficulty=" + difficulty + ", games=" + gamesPlayed
+                + ", best=" + bestScore + ", total=" + totalScore + "}";
+    }
+}
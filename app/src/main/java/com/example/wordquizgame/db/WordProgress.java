@@ -0,0 +1,28 @@
+package com.example.wordquizgame.db;
+
+/**
+ * สถานะ spaced repetition ของคำหนึ่งคำ เก็บในตาราง word_progress
+ */
+public class WordProgress {
+
+    public final String name;
+    public int box;
+    public long due;
+    public int correct;
+    public int attempts;
+    public long lastRound;
+
+    public WordProgress(String name) {
+        this.name = name;
+    }
+
+    public WordProgress copy() {
+        WordProgress copy = new WordProgress(name);
+        copy.box = box;
+        copy.due = due;
+        copy.correct = correct;
+        copy.attempts = attempts;
+        copy.lastRound = lastRound;
+        return copy;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.wordquizgame;
+
+import android.app.AlertDialog;
+import android.content.DialogInterface;
+import android.content.Intent;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.widget.Button;
+import android.widget.ListView;
+import android.widget.TableLayout;
+import android.widget.TableRow;
+import android.widget.TextView;
+
+import com.example.wordquizgame.core.EventJournal;
+import com.example.wordquizgame.core.LatencyHistogram;
+import com.example.wordquizgame.db.DatabaseHelper;
+import com.example.wordquizgame.db.ScoreRepository;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowAlertDialog;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.util.ActivityController;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * เล่นเกมตั้งแต่หน้าหลักจนจบเกมแล้วเปิดหน้าคะแนนสูงสุดบน JVM (Robolectric)
+ * และตรวจเวลา/จำนวน byte ที่ allocate ของการเปลี่ยนข้อและการโหลดรายการคะแนน
+ * <p>
+ * งบด้านล่างเผื่อไว้สำหรับเครื่อง CI ที่ช้า ตั้งไว้ให้จับการถดถอยที่ชัดเจน
+ * เช่นอ่านคะแนนทั้งตารางแทนที่จะอ่านทีละหน้า หรือ decode รูปบน main thread
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21, shadows = {ShadowMusic.class})
+public class GameFlowPerformanceTest {
+
+    private static final int NUMBER_OF_QUESTIONS = 5;
+    private static final long NEXT_QUESTION_DELAY = 2000;
+
+    // งบต่อการเปลี่ยนข้อหนึ่งครั้ง (รวม overhead ของ Robolectric)
+    private static final long TRANSITION_P95_MICROS = 50000;
+    private static final long TRANSITION_ALLOCATED_BYTES = 2 * 1024 * 1024;
+
+    // งบของการเปิดหน้าคะแนนสูงสุดจนแสดงหน้าแรกครบ เมื่อมีคะแนน 100k แถว
+    private static final int SEEDED_ROWS = 100000;
+    private static final int PAGE_SIZE = 20;
+    private static final long HIGH_SCORE_MILLIS = 1000;
+    private static final long HIGH_SCORE_ALLOCATED_BYTES = 8 * 1024 * 1024;
+
+    private static final long WAIT_TIMEOUT_MILLIS = 10000;
+
+    @After
+    public void tearDown() {
+        PerfTestUtils.resetSingletons();
+    }
+
+    @Test
+    public void playThroughToHighScores() {
+        MainActivity main = Robolectric.setupActivity(MainActivity.class);
+
+        main.findViewById(R.id.playGameButton).performClick();
+        AlertDialog difficultyDialog = ShadowAlertDialog.getLatestAlertDialog();
+        assertNotNull(difficultyDialog);
+        shadowOf(difficultyDialog).clickOnItem(DatabaseHelper.DIFFICULTY_EASY);
+
+        Intent intent = shadowOf(main).getNextStartedActivity();
+        assertEquals(GameActivity.class.getName(), intent.getComponent().getClassName());
+
+        ActivityController<GameActivity> controller =
+                Robolectric.buildActivity(GameActivity.class).withIntent(intent).setup();
+        GameActivity game = controller.get();
+
+        List<Long> transitionBytes = new ArrayList<Long>();
+        for (int question = 0; question < NUMBER_OF_QUESTIONS; question++) {
+            answerCorrectly(game);
+
+            if (question < NUMBER_OF_QUESTIONS - 1) {
+                long before = PerfTestUtils.allocatedBytes();
+                ShadowLooper.idleMainLooper(NEXT_QUESTION_DELAY);
+                long after = PerfTestUtils.allocatedBytes();
+                if (before >= 0) {
+                    transitionBytes.add(after - before);
+                }
+            }
+        }
+
+        LatencyHistogram transitions = Metrics.get(Metrics.QUESTION_TRANSITION);
+        assertEquals(NUMBER_OF_QUESTIONS, transitions.getCount());
+        assertTrue("question transition p95 " + transitions.getPercentile(95) + " us",
+                transitions.getPercentile(95) <= TRANSITION_P95_MICROS);
+        for (long bytes : transitionBytes) {
+            assertTrue("question transition allocated " + bytes + " bytes",
+                    bytes <= TRANSITION_ALLOCATED_BYTES);
+        }
+
+        AlertDialog gameOver = ShadowAlertDialog.getLatestAlertDialog();
+        assertTrue(gameOver.isShowing());
+        gameOver.getButton(DialogInterface.BUTTON_NEGATIVE).performClick();
+        assertTrue(game.isFinishing());
+
+        controller.pause().stop().destroy();
+        assertEquals(0, game.getScheduler().getPendingCount());
+        assertEquals(NUMBER_OF_QUESTIONS, countCorrectGuesses());
+
+        ScoreRepository.getInstance(RuntimeEnvironment.application).flush();
+
+        final HighScoreActivity highScores = Robolectric.setupActivity(HighScoreActivity.class);
+        PerfTestUtils.waitUntil(new PerfTestUtils.Condition() {
+            @Override
+            public boolean isTrue() {
+                return getListCount(highScores) == 1;
+            }
+        }, WAIT_TIMEOUT_MILLIS);
+    }
+
+    @Test
+    public void highScoresWithManyRows() {
+        seedScores(SEEDED_ROWS);
+
+        // เปิดครั้งแรกเพื่อโหลด class และ resource ก่อนวัด
+        final HighScoreActivity warmUp = Robolectric.setupActivity(HighScoreActivity.class);
+        waitForFirstPage(warmUp);
+
+        long bytesBefore = PerfTestUtils.allocatedBytes();
+        long start = System.nanoTime();
+
+        HighScoreActivity highScores = Robolectric.setupActivity(HighScoreActivity.class);
+        waitForFirstPage(highScores);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+        long bytes = PerfTestUtils.allocatedBytes() - bytesBefore;
+
+        assertEquals(PAGE_SIZE, getListCount(highScores));
+        assertTrue("high score list took " + elapsedMillis + " ms",
+                elapsedMillis <= HIGH_SCORE_MILLIS);
+        if (bytesBefore >= 0) {
+            assertTrue("high score list allocated " + bytes + " bytes",
+                    bytes <= HIGH_SCORE_ALLOCATED_BYTES);
+        }
+    }
+
+    private static void answerCorrectly(GameActivity game) {
+        TableLayout table = (TableLayout) game.findViewById(R.id.buttonTableLayout);
+        List<Button> buttons = new ArrayList<Button>();
+        for (int row = 0; row < table.getChildCount(); row++) {
+            TableRow tr = (TableRow) table.getChildAt(row);
+            for (int column = 0; column < tr.getChildCount(); column++) {
+                buttons.add((Button) tr.getChildAt(column));
+            }
+        }
+
+        // ตอบผิดจะปิดเฉพาะปุ่มที่กด ตอบถูกจะปิดทุกปุ่ม
+        for (Button button : buttons) {
+            if (button.isEnabled()) {
+                button.performClick();
+            }
+            if (allDisabled(buttons)) {
+                return;
+            }
+        }
+        throw new AssertionError("No correct choice");
+    }
+
+    private static boolean allDisabled(List<Button> buttons) {
+        for (Button button : buttons) {
+            if (button.isEnabled()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countCorrectGuesses() {
+        try {
+            int correct = 0;
+            for (EventJournal.WordStats stats : GameJournal.readAll().values()) {
+                correct += stats.correct;
+            }
+            return correct;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static int getListCount(HighScoreActivity activity) {
+        ListView listView = (ListView) activity.findViewById(R.id.listView);
+        return listView.getAdapter().getCount();
+    }
+
+    private static void waitForFirstPage(final HighScoreActivity activity) {
+        final TextView stats = (TextView) activity.findViewById(R.id.statsTextView);
+        PerfTestUtils.waitUntil(new PerfTestUtils.Condition() {
+            @Override
+            public boolean isTrue() {
+                return getListCount(activity) >= PAGE_SIZE && stats.length() > 0;
+            }
+        }, WAIT_TIMEOUT_MILLIS);
+    }
+
+    private static void seedScores(int rows) {
+        ScoreRepository repository = ScoreRepository.getInstance(RuntimeEnvironment.application);
+        SQLiteDatabase db = repository.getDatabase();
+        Random random = new Random(1);
+
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + DatabaseHelper.TABLE_NAME
+                + "(" + DatabaseHelper.COL_SCORE + ", " + DatabaseHelper.COL_DIFFICULTY + ", "
+                + DatabaseHelper.COL_TIMESTAMP + ") VALUES (?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < rows; i++) {
+                insert.bindDouble(1, 100 * random.nextDouble());
+                insert.bindLong(2, i % 3);
+                insert.bindLong(3, 1400000000000L + i);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+
+        repository.rebuildStats();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.wordquizgame;
+
+import com.example.wordquizgame.db.DbTestUtils;
+
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.fail;
+
+/**
+ * เครื่องมือของเทสต์ประสิทธิภาพ: นับ byte ที่ถูก allocate, รอผลจาก background thread
+ * และล้าง singleton ที่ค้างจากเทสต์ก่อน
+ */
+class PerfTestUtils {
+
+    interface Condition {
+        boolean isTrue();
+    }
+
+    private static final long WAIT_MILLIS = 10000;
+
+    private PerfTestUtils() {
+    }
+
+    /**
+     * จำนวน byte ที่ทุก thread allocate ไปแล้ว หรือ -1 ถ้า JVM นี้นับไม่ได้
+     */
+    static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if ((bean instanceof com.sun.management.ThreadMXBean) == false) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (sunBean.isThreadAllocatedMemorySupported() == false
+                || sunBean.isThreadAllocatedMemoryEnabled() == false) {
+            return -1;
+        }
+
+        long total = 0;
+        for (long bytes : sunBean.getThreadAllocatedBytes(sunBean.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * รันงานบน main looper ของ Robolectric ซ้ำจนเงื่อนไขเป็นจริง ใช้รอผลที่โพสต์กลับมาจาก worker thread
+     */
+    static void waitUntil(Condition condition, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            ShadowLooper.runUiThreadTasks();
+            if (condition.isTrue()) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out after " + timeoutMillis + " ms");
+            }
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    /**
+     * Robolectric สร้าง Application และฐานข้อมูลใหม่ทุกเทสต์ แต่ static field ยังอยู่
+     * จึงต้องหยุด thread และปิด connection ของ singleton ทุกตัวก่อนเทสต์ถัดไปจะเริ่ม
+     * (งานเตรียมและ loader ต้องหยุดก่อนฐานข้อมูลถูกปิด)
+     */
+    static void resetSingletons() {
+        try {
+            WarmUp.resetForTest(WAIT_MILLIS);
+            WordCatalog.resetForTest();
+            StudyScheduler.resetForTest();
+            GameJournal.resetForTest(WAIT_MILLIS);
+            BitmapCache.resetForTest(WAIT_MILLIS);
+            DbTestUtils.resetScoreRepository(WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted");
+        }
+        SoundEffects.release();
+        ResourceManager.reset();
+        Metrics.reset();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.wordquizgame;
+
+import android.content.ComponentCallbacks2;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ตรวจว่าสัญญาณหน่วยความจำของระบบถูกแปลงเป็น tier และแต่ละ pool ปล่อยของตาม tier
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21, shadows = {ShadowMusic.class})
+public class ResourceManagerTest {
+
+    private static final long WAIT_MILLIS = 10000;
+
+    /**
+     * pool ปลอมที่ปล่อยของเมื่อได้ tier ตั้งแต่ minTier ขึ้นไป
+     */
+    private static class FakePool implements ResourceManager.Pool {
+        final int minTier;
+        long bytes;
+
+        FakePool(int minTier, long bytes) {
+            this.minTier = minTier;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public void trim(int tier) {
+            if (tier >= minTier) {
+                bytes = 0;
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        PerfTestUtils.resetSingletons();
+    }
+
+    @Test
+    public void trimsInTiers() {
+        long imagesBefore = ResourceManager.getUsage(ResourceManager.IMAGES);
+        long audioBefore = ResourceManager.getUsage(ResourceManager.AUDIO);
+
+        FakePool images = new FakePool(ResourceManager.TIER_RUNNING, 4000000);
+        FakePool audio = new FakePool(ResourceManager.TIER_HIDDEN, 300000);
+        ResourceManager.register(ResourceManager.IMAGES, images);
+        ResourceManager.register(ResourceManager.AUDIO, audio);
+
+        assertEquals(imagesBefore + 4000000, ResourceManager.getUsage(ResourceManager.IMAGES));
+        assertEquals(audioBefore + 300000, ResourceManager.getUsage(ResourceManager.AUDIO));
+
+        RuntimeEnvironment.application.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+        assertEquals(ResourceManager.TIER_NONE, ResourceManager.getLastTier());
+        assertEquals(4000000, images.bytes);
+
+        RuntimeEnvironment.application.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+        assertEquals(ResourceManager.TIER_RUNNING, ResourceManager.getLastTier());
+        assertEquals(0, images.bytes);
+        assertEquals(300000, audio.bytes);
+
+        RuntimeEnvironment.application.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+        assertEquals(ResourceManager.TIER_HIDDEN, ResourceManager.getLastTier());
+        assertEquals(0, audio.bytes);
+
+        ResourceManager.unregister(images);
+        ResourceManager.unregister(audio);
+        assertEquals(imagesBefore, ResourceManager.getUsage(ResourceManager.IMAGES));
+    }
+
+    @Test
+    public void lowMemoryReleasesSoundEffects() throws InterruptedException {
+        assertTrue(WarmUp.await(WAIT_MILLIS));
+
+        RuntimeEnvironment.application.onLowMemory();
+
+        assertEquals(ResourceManager.TIER_HIDDEN, ResourceManager.getLastTier());
+        assertEquals(0, ResourceManager.getUsage(ResourceManager.AUDIO));
+        assertEquals(0, ResourceManager.getUsage(ResourceManager.CURSORS));
+        assertEquals(0, SoundEffects.play(SoundEffects.CORRECT));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.wordquizgame;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.example.wordquizgame.db.DatabaseHelper;
+import com.example.wordquizgame.db.ScoreArchive;
+import com.example.wordquizgame.db.ScoreRepository;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * ส่งออกตารางคะแนนจำนวนมากเป็นไฟล์แล้วนำเข้ากลับ ต้องได้ข้อมูลและสรุปคะแนนเหมือนเดิม
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21, shadows = {ShadowMusic.class})
+public class ScoreArchiveTest {
+
+    private static final int SEEDED_ROWS = 250000;
+
+    // tag + score + difficulty + created_at + latency_ms
+    private static final int RECORD_SIZE = 1 + 8 + 1 + 8 + 4;
+
+    @After
+    public void tearDown() {
+        PerfTestUtils.resetSingletons();
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        ScoreRepository repository = ScoreRepository.getInstance(RuntimeEnvironment.application);
+        seedScores(repository.getDatabase(), SEEDED_ROWS, new Random(7));
+        repository.rebuildStats();
+        String before = checksum(repository.getDatabase());
+
+        File file = File.createTempFile("scores", ".bin");
+        try {
+            assertEquals(SEEDED_ROWS, repository.exportScores(file));
+            assertEquals(8 + (long) SEEDED_ROWS * RECORD_SIZE + 1 + 8, file.length());
+
+            repository.getDatabase().delete(DatabaseHelper.TABLE_NAME, null, null);
+            repository.rebuildStats();
+
+            assertEquals(SEEDED_ROWS, repository.importScores(file));
+            assertEquals(before, checksum(repository.getDatabase()));
+            assertTrue(repository.verifyStats());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void failedImportLeavesTableUnchanged() throws IOException {
+        ScoreRepository repository = ScoreRepository.getInstance(RuntimeEnvironment.application);
+        int rows = 3 * ScoreArchive.BATCH_SIZE;
+        seedScores(repository.getDatabase(), rows, new Random(11));
+        repository.rebuildStats();
+        String before = checksum(repository.getDatabase());
+
+        File file = File.createTempFile("scores", ".bin");
+        File truncated = File.createTempFile("scores", ".bin");
+        try {
+            repository.exportScores(file);
+            repository.exportScores(truncated);
+
+            // ตัดหลังจากอ่านไปแล้วหลายพันแถว: ต้องไม่มีแถวใดจากไฟล์นี้ค้างอยู่ในตาราง
+            RandomAccessFile raf = new RandomAccessFile(truncated, "rw");
+            raf.setLength(8 + (long) (rows - ScoreArchive.BATCH_SIZE / 2) * RECORD_SIZE);
+            raf.close();
+
+            try {
+                repository.importScores(truncated);
+                fail("Truncated archive was accepted");
+            } catch (IOException expected) {
+            }
+
+            assertEquals(before, checksum(repository.getDatabase()));
+            assertTrue(repository.verifyStats());
+
+            // นำเข้าใหม่ด้วยไฟล์ที่สมบูรณ์ได้แถวครบพอดี ไม่มีแถวซ้ำจากครั้งที่ล้มเหลว
+            assertEquals(rows, repository.importScores(file));
+            assertEquals(2 * rows,
+                    DatabaseUtils.queryNumEntries(repository.getDatabase(), DatabaseHelper.TABLE_NAME));
+            assertTrue(repository.verifyStats());
+        } finally {
+            file.delete();
+            truncated.delete();
+        }
+    }
+
+    private static void seedScores(SQLiteDatabase db, int rows, Random random) {
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + DatabaseHelper.TABLE_NAME
+                + "(" + DatabaseHelper.COL_SCORE + ", " + DatabaseHelper.COL_DIFFICULTY + ", "
+                + DatabaseHelper.COL_TIMESTAMP + ", " + DatabaseHelper.COL_LATENCY
+                + ") VALUES (?, ?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < rows; i++) {
+                insert.bindDouble(1, 100 * random.nextDouble());
+                insert.bindLong(2, random.nextInt(3));
+                insert.bindLong(3, 1400000000000L + random.nextInt(Integer.MAX_VALUE));
+                insert.bindLong(4, random.nextInt(10000));
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+
+    /**
+     * สรุปทุกคอลัมน์ยกเว้น _id (นำเข้าแล้วได้ id ใหม่) รวมลำดับของแถวด้วย
+     */
+    private static String checksum(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("SELECT COUNT(*), SUM(" + DatabaseHelper.COL_SCORE + "), "
+                + "SUM(" + DatabaseHelper.COL_DIFFICULTY + "), "
+                + "SUM(" + DatabaseHelper.COL_TIMESTAMP + " % 1000003), "
+                + "SUM(" + DatabaseHelper.COL_LATENCY + "), "
+                + "GROUP_CONCAT(" + DatabaseHelper.COL_LATENCY + " % 10, '') "
+                + "FROM (SELECT * FROM " + DatabaseHelper.TABLE_NAME
+                + " ORDER BY " + DatabaseHelper.COL_ID + ")", null);
+        try {
+            cursor.moveToFirst();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < cursor.getColumnCount(); i++) {
+                sb.append(cursor.getString(i).hashCode()).append(' ');
+            }
+            return sb.toString();
+        } finally {
+            cursor.close();
+        }
+    }
+}
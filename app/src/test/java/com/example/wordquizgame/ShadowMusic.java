@@ -0,0 +1,30 @@
+package com.example.wordquizgame;
+
+import android.content.Context;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+
+/**
+ * ปิดเพลงพื้นหลังในเทสต์ MediaPlayer ของ Robolectric ต้องลงทะเบียน data source ทุกไฟล์ก่อนใช้
+ * และเพลงไม่เกี่ยวกับสิ่งที่วัดในเทสต์เหล่านี้
+ */
+@Implements(Music.class)
+public class ShadowMusic {
+
+    @Implementation
+    public static void prepare(Context context, int resId) {
+    }
+
+    @Implementation
+    public static void play(Context context, int resId) {
+    }
+
+    @Implementation
+    public static void stop() {
+    }
+
+    @Implementation
+    public static void release() {
+    }
+}
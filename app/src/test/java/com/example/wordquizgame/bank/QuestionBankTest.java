@@ -0,0 +1,88 @@
+package com.example.wordquizgame.bank;
+
+import com.example.wordquizgame.BuildConfig;
+import com.example.wordquizgame.core.QuizGenerator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * รวมชุดคำศัพท์สองชุดที่มีคำซ้ำกัน คลังต้องมีคำนั้นคำเดียว และตัวเลือกต้องไม่มีคำซ้ำ
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class QuestionBankTest {
+
+    private File root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = File.createTempFile("packs", "");
+        root.delete();
+    }
+
+    @After
+    public void tearDown() {
+        delete(root);
+    }
+
+    @Test
+    public void skipsWordsAlreadyInEarlierPack() throws IOException {
+        File first = createPack("first", "animals-cat", "animals-dog", "colors-red");
+        File second = createPack("second", "animals-cat", "colors-red", "colors-blue");
+
+        QuestionBank bank = QuestionBank.load(new FileWordPack(first), new FileWordPack(second));
+
+        assertEquals(4, bank.size());
+        Set<String> words = new HashSet<String>();
+        for (int i = 0; i < bank.size(); i++) {
+            assertTrue(words.add(bank.getWord(i)));
+            if (bank.get(i).name.equals("animals-cat")) {
+                assertTrue(bank.get(i).imagePath.startsWith(first.getPath()));
+            }
+        }
+
+        QuizGenerator generator = new QuizGenerator(bank, 4, new Random(3));
+        String[] choices = new String[4];
+        for (int round = 0; round < 100; round++) {
+            generator.pickChoices(round % bank.size(), choices);
+            Set<String> shown = new HashSet<String>();
+            for (String choice : choices) {
+                assertTrue(shown.add(choice));
+            }
+        }
+    }
+
+    private File createPack(String name, String... fileNames) throws IOException {
+        File dir = new File(root, name);
+        for (String fileName : fileNames) {
+            File categoryDir = new File(dir, fileName.substring(0, fileName.indexOf('-')));
+            categoryDir.mkdirs();
+            new File(categoryDir, fileName + ".png").createNewFile();
+        }
+        return dir;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.wordquizgame.db;
+
+/**
+ * ให้เทสต์นอก package db เรียก hook สำหรับเทสต์ของ ScoreRepository ได้
+ */
+public class DbTestUtils {
+
+    private DbTestUtils() {
+    }
+
+    public static void resetScoreRepository(long timeoutMillis) throws InterruptedException {
+        ScoreRepository.resetForTest(timeoutMillis);
+    }
+}
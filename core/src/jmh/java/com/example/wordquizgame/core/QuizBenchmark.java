@@ -0,0 +1,99 @@
+package com.example.wordquizgame.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * วัดเวลาสร้างคำถามของเกมกับคลังคำศัพท์ขนาดต่าง ๆ
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QuizBenchmark {
+
+    private static final int NUMBER_OF_QUESTIONS = 5;
+    private static final String[] CATEGORIES = new String[] {
+            "animals", "body", "colors", "numbers", "objects"
+    };
+
+    @Param({"50", "5000", "500000"})
+    public int bankSize;
+
+    @Param({"2", "6"})
+    public int numChoices;
+
+    private String[] fileNames;
+    private QuizGenerator generator;
+    private int[] quizIndexes;
+    private String[] choiceWords;
+    private int answerIndex;
+    private int nameIndex;
+    private int totalGuesses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fileNames = new String[bankSize];
+        for (int i = 0; i < bankSize; i++) {
+            fileNames[i] = CATEGORIES[i % CATEGORIES.length] + "-word" + i;
+        }
+
+        final String[] words = new String[bankSize];
+        for (int i = 0; i < bankSize; i++) {
+            words[i] = Words.getWord(fileNames[i]);
+        }
+
+        generator = new QuizGenerator(new WordList() {
+            @Override
+            public int size() {
+                return words.length;
+            }
+
+            @Override
+            public String getWord(int index) {
+                return words[index];
+            }
+
+            @Override
+            public String getCategory(int index) {
+                return CATEGORIES[index % CATEGORIES.length];
+            }
+        }, numChoices, new Random(42));
+
+        quizIndexes = new int[NUMBER_OF_QUESTIONS];
+        choiceWords = new String[numChoices];
+    }
+
+    @Benchmark
+    public int[] pickQuestions() {
+        generator.pickQuestions(quizIndexes);
+        return quizIndexes;
+    }
+
+    @Benchmark
+    public int pickChoices() {
+        answerIndex = (answerIndex + 1) % bankSize;
+        return generator.pickChoices(answerIndex, choiceWords);
+    }
+
+    @Benchmark
+    public String parseWord() {
+        nameIndex = (nameIndex + 1) % bankSize;
+        return Words.getWord(fileNames[nameIndex]);
+    }
+
+    @Benchmark
+    public double score() {
+        totalGuesses = totalGuesses % 50 + NUMBER_OF_QUESTIONS;
+        return Scoring.percentCorrect(NUMBER_OF_QUESTIONS, totalGuesses);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.wordquizgame.core;
+
+import java.util.Random;
+
+/**
+ * สุ่มเลข index ที่ไม่ซ้ำกัน k ตัวจาก 0..size-1 ด้วย partial Fisher-Yates shuffle
+ * ใช้เวลา O(k + จำนวนตัวที่ยกเว้น) และไม่จอง memory เพิ่มระหว่างการสุ่ม
+ */
+public class ChoiceSampler {
+
+    private final Random random;
+    private final int[] pool;
+    private final int[] position;
+
+    public ChoiceSampler(int size, Random random) {
+        this.random = random;
+        this.pool = new int[size];
+        this.position = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            pool[i] = i;
+            position[i] = i;
+        }
+    }
+
+    public int size() {
+        return pool.length;
+    }
+
+    /**
+     * สุ่ม k index ลงใน out[0..k-1]
+     */
+    public void sample(int k, int[] out) {
+        sample(k, out, null, 0);
+    }
+
+    /**
+     * สุ่ม k index ลงใน out[0..k-1] โดยไม่เอา excluded
+     */
+    public void sample(int k, int[] out, int excluded) {
+        // ย้ายตัวที่ยกเว้นไปไว้ท้าย pool โดยไม่ต้องสร้าง array ใหม่
+        int active = pool.length;
+        if (excluded >= 0) {
+            swap(position[excluded], --active);
+        }
+        shuffle(k, out, active);
+    }
+
+    /**
+     * สุ่ม k index ลงใน out[0..k-1] โดยไม่เอาตัวที่อยู่ใน excluded[0..excludedCount-1]
+     */
+    public void sample(int k, int[] out, int[] excluded, int excludedCount) {
+        int active = pool.length;
+        for (int i = 0; i < excludedCount; i++) {
+            int pos = position[excluded[i]];
+            // ข้ามตัวที่ถูกย้ายไปท้าย pool แล้ว (ค่าซ้ำใน excluded)
+            if (pos < active) {
+                swap(pos, --active);
+            }
+        }
+        shuffle(k, out, active);
+    }
+
+    private void shuffle(int k, int[] out, int active) {
+        if (k > active) {
+            throw new IllegalArgumentException(
+                    "Cannot draw " + k + " distinct items from " + active);
+        }
+
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(active - i);
+            swap(i, j);
+            out[i] = pool[i];
+        }
+    }
+
+    private void swap(int i, int j) {
+        int a = pool[i];
+        int b = pool[j];
+        pool[i] = b;
+        pool[j] = a;
+        position[b] = i;
+        position[a] = j;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.wordquizgame.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * ดัชนีสำหรับเลือกตัวหลอกที่คล้ายกับคำตอบ สร้างครั้งเดียวตอนโหลดคลังคำศัพท์
+ * <p>
+ * คำศัพท์ถูกจัดกลุ่มตามหมวด และในแต่ละหมวดเรียงตามความยาวแล้วตามตัวอักษร
+ * คำที่อยู่ใกล้กันในลำดับนี้จึงเป็นคำหมวดเดียวกันที่ยาวใกล้เคียงและขึ้นต้นคล้ายกัน
+ * ตอนตั้งคำถามจะสุ่มตัวหลอกจากหน้าต่างรอบ ๆ คำตอบเท่านั้น ไม่ต้องเทียบคำทีละคู่
+ */
+public class DistractorIndex {
+
+    public static final int DEFAULT_WINDOW = 6;
+
+    private final WordList words;
+    private final int window;
+
+    // order = index ของคำเรียงตามหมวด/ความยาว/ตัวอักษร, position[word] = ตำแหน่งใน order
+    private final int[] order;
+    private final int[] position;
+
+    // ช่วง [groupStart, groupEnd) ใน order ของหมวดที่คำนั้นอยู่
+    private final int[] groupStart;
+    private final int[] groupEnd;
+
+    public DistractorIndex(final WordList words, int window) {
+        this.words = words;
+        this.window = window;
+
+        int size = words.size();
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+        }
+
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                int c = words.getCategory(a).compareTo(words.getCategory(b));
+                if (c != 0) {
+                    return c;
+                }
+
+                String wa = words.getWord(a);
+                String wb = words.getWord(b);
+                if (wa.length() != wb.length()) {
+                    return wa.length() < wb.length() ? -1 : 1;
+                }
+                return wa.compareTo(wb);
+            }
+        });
+
+        order = new int[size];
+        position = new int[size];
+        groupStart = new int[size];
+        groupEnd = new int[size];
+
+        int start = 0;
+        for (int pos = 0; pos < size; pos++) {
+            order[pos] = sorted[pos];
+            position[sorted[pos]] = pos;
+
+            boolean lastOfGroup = pos + 1 == size
+                    || words.getCategory(sorted[pos + 1]).equals(words.getCategory(sorted[pos])) == false;
+            if (lastOfGroup) {
+                for (int p = start; p <= pos; p++) {
+                    groupStart[order[p]] = start;
+                    groupEnd[order[p]] = pos + 1;
+                }
+                start = pos + 1;
+            }
+        }
+    }
+
+    public DistractorIndex(WordList words) {
+        this(words, DEFAULT_WINDOW);
+    }
+
+    /**
+     * ขนาดของ scratch ที่ต้องส่งให้ {@link #pick} เมื่อต้องการตัวหลอก k คำ
+     */
+    public int scratchSize(int k) {
+        return Math.max(2 * window, k + 1);
+    }
+
+    /**
+     * เลือกตัวหลอก k คำที่ไม่ซ้ำกับคำตอบและไม่ซ้ำกันเอง ลงใน out[0..k-1]
+     * ใช้คำหมวดเดียวกันที่อยู่ใกล้คำตอบก่อน ถ้าไม่พอจึงขยายช่วงออกไป
+     */
+    public void pick(int answerIndex, int k, int[] out, Random random, int[] scratch) {
+        int size = order.length;
+        if (k >= size) {
+            throw new IllegalArgumentException("Cannot pick " + k + " distractors from " + size);
+        }
+
+        int pos = position[answerIndex];
+        int lo = groupStart[answerIndex];
+        int hi = groupEnd[answerIndex];
+        int radius = Math.max(window, (k + 1) / 2);
+
+        while (true) {
+            int from = Math.max(lo, pos - radius);
+            int to = Math.min(hi, pos + radius + 1);
+
+            // เลื่อนหน้าต่างให้เต็มขนาดเมื่อคำตอบอยู่ใกล้ขอบของกลุ่ม
+            int wanted = Math.min(hi - lo, 2 * radius + 1);
+            if (to - from < wanted) {
+                if (from == lo) {
+                    to = Math.min(hi, from + wanted);
+                } else {
+                    from = Math.max(lo, to - wanted);
+                }
+            }
+
+            if (fill(answerIndex, pos, from, to, k, out, random, scratch)) {
+                return;
+            }
+
+            // ไม่พอ: ถ้ายังไม่เต็มหมวดให้ขยายหน้าต่าง ถ้าเต็มหมวดแล้วให้ใช้คำจากทุกหมวด
+            if (to - from < hi - lo) {
+                radius *= 2;
+            } else if (hi - lo < size) {
+                lo = 0;
+                hi = size;
+            } else if (fillScan(answerIndex, k, out, random)) {
+                return;
+            } else {
+                throw new IllegalStateException("Not enough distinct words for " + k + " distractors");
+            }
+        }
+    }
+
+    private boolean fill(int answerIndex, int pos, int from, int to, int k, int[] out,
+                         Random random, int[] scratch) {
+        int count = to - from - 1;
+        if (count < k) {
+            return false;
+        }
+        if (count > scratch.length) {
+            // หน้าต่างใหญ่กว่า scratch (ตอนขยายแล้ว) สุ่มตำแหน่งตรง ๆ แทน
+            return fillSparse(answerIndex, pos, from, to, k, out, random);
+        }
+
+        int n = 0;
+        for (int p = from; p < to; p++) {
+            if (p != pos) {
+                scratch[n++] = order[p];
+            }
+        }
+
+        String answerWord = words.getWord(answerIndex);
+        int chosen = 0;
+        for (int i = 0; i < n && chosen < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int candidate = scratch[j];
+            scratch[j] = scratch[i];
+            scratch[i] = candidate;
+
+            if (isUsable(candidate, answerWord, out, chosen)) {
+                out[chosen++] = candidate;
+            }
+        }
+        return chosen == k;
+    }
+
+    private boolean fillSparse(int answerIndex, int pos, int from, int to, int k, int[] out,
+                               Random random) {
+        String answerWord = words.getWord(answerIndex);
+        int chosen = 0;
+
+        // จำกัดจำนวนครั้งเพื่อไม่ให้วนไม่รู้จบเมื่อคำซ้ำกันมาก
+        for (int attempt = 0; attempt < 32 * k && chosen < k; attempt++) {
+            int p = from + random.nextInt(to - from);
+            if (p == pos) {
+                continue;
+            }
+
+            int candidate = order[p];
+            if (isUsable(candidate, answerWord, out, chosen)) {
+                out[chosen++] = candidate;
+            }
+        }
+        return chosen == k;
+    }
+
+    private boolean fillScan(int answerIndex, int k, int[] out, Random random) {
+        String answerWord = words.getWord(answerIndex);
+        int size = order.length;
+        int start = random.nextInt(size);
+        int chosen = 0;
+
+        for (int i = 0; i < size && chosen < k; i++) {
+            int candidate = order[(start + i) % size];
+            if (candidate != answerIndex && isUsable(candidate, answerWord, out, chosen)) {
+                out[chosen++] = candidate;
+            }
+        }
+        return chosen == k;
+    }
+
+    private boolean isUsable(int candidate, String answerWord, int[] out, int chosen) {
+        String word = words.getWord(candidate);
+        if (word.equals(answerWord)) {
+            return false;
+        }
+        for (int i = 0; i < chosen; i++) {
+            if (words.getWord(out[i]).equals(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.wordquizgame.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * บันทึกเหตุการณ์การตอบต่อท้ายไฟล์ (append-only) แบ่งเป็น segment ขนาดจำกัด
+ * <p>
+ * segment ที่ปิดแล้วเกิน maxSegments จะถูกรวบเป็นสรุปรายคำ ({@link WordStats}) ในไฟล์ summary แล้วลบทิ้ง
+ * summary จำเลขของ segment สุดท้ายที่รวบไปแล้ว segment ที่เลขไม่เกินนั้นซึ่งยังไม่ถูกลบ
+ * (แอปถูกปิดก่อนลบ) จะไม่ถูกนับซ้ำ และจะถูกลบในการรวบครั้งถัดไป
+ * พื้นที่ดิสก์จึงไม่เกินราว (maxSegments + 1) x segmentBytes บวกขนาดสรุปซึ่งโตตามจำนวนคำเท่านั้น
+ * ทุกเมธอดต้องเรียกจาก thread เดียว (thread ที่ flush)
+ * <p>
+ * หนึ่งเหตุการณ์: flags (bit 0 = ตอบถูก, bit 1-2 = ระดับความยาก), คำตอบ (UTF),
+ * คำที่เลือก (UTF เฉพาะเมื่อตอบผิด), เวลาตอบ ms (int), เวลาที่ตอบ (long)
+ * ถ้าแอปถูกปิดระหว่างเขียน รายการสุดท้ายที่ไม่ครบจะถูกข้ามตอนอ่าน
+ */
+public class EventJournal implements EventRing.Sink {
+
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SUMMARY_NAME = "summary.bin";
+    private static final int SUMMARY_MAGIC = 0x57514A32; // "WQJ2" ตามด้วยเลข segment ที่รวบแล้ว
+    private static final int LEGACY_SUMMARY_MAGIC = 0x57514A53; // "WQJS" ไม่มีเลข segment
+
+    private static final int FLAG_CORRECT = 1;
+
+    /**
+     * สรุปผลของคำหนึ่งจาก segment ที่รวบไปแล้ว
+     */
+    public static class WordStats {
+        public int guesses;
+        public int correct;
+        public long latencyTotal;
+        // จำนวนครั้งที่คำนี้ถูกเลือกผิดเป็นคำตอบของคำอื่น
+        public int pickedWrongly;
+    }
+
+    private final File dir;
+    private final long segmentBytes;
+    private final int maxSegments;
+
+    private DataOutputStream out;
+    private long nextSegment;
+
+    public EventJournal(File dir, long segmentBytes, int maxSegments) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+
+        dir.mkdirs();
+
+        // เปิด segment ใหม่ทุกครั้ง ไม่ต่อท้ายไฟล์เดิมที่อาจจบไม่ครบรายการ
+        // และต้องใช้เลขที่มากกว่าที่รวบไปแล้ว ไม่อย่างนั้น segment ใหม่จะถูกข้าม
+        long[] numbers = segmentNumbers();
+        nextSegment = numbers.length == 0 ? 0 : numbers[numbers.length - 1] + 1;
+        try {
+            nextSegment = Math.max(nextSegment, readSummary(null) + 1);
+        } catch (IOException e) {
+            // summary เสีย compact() และ readAll() จะโยน IOException เอง
+        }
+    }
+
+    /**
+     * ย้ายทุกเหตุการณ์ใน ring ลงไฟล์ คืนจำนวนที่เขียน
+     */
+    public int append(EventRing ring) throws IOException {
+        int count = ring.drain(this);
+        if (out != null) {
+            out.flush();
+        }
+        return count;
+    }
+
+    @Override
+    public void accept(String word, String chosen, boolean correct, int latencyMillis,
+                       int difficulty, long timeMillis) throws IOException {
+        if (out == null) {
+            File file = new File(dir, SEGMENT_PREFIX + nextSegment++ + SEGMENT_SUFFIX);
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        }
+
+        out.writeByte((correct ? FLAG_CORRECT : 0) | (difficulty << 1));
+        out.writeUTF(word);
+        if (correct == false) {
+            out.writeUTF(chosen);
+        }
+        out.writeInt(latencyMillis);
+        out.writeLong(timeMillis);
+
+        if (out.size() >= segmentBytes) {
+            closeSegment();
+        }
+    }
+
+    /**
+     * ปิด segment ปัจจุบัน เหตุการณ์ถัดไปจะไปอยู่ใน segment ใหม่
+     */
+    public void closeSegment() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * จำนวน segment ทั้งหมดรวมตัวที่เปิดอยู่
+     */
+    public int getSegmentCount() {
+        return segmentNumbers().length;
+    }
+
+    /**
+     * รวบ segment ที่ปิดแล้วซึ่งเกิน maxSegments (เก่าสุดก่อน) เข้าสรุปรายคำ คืนจำนวน segment ที่รวบ
+     */
+    public int compact() throws IOException {
+        Map<String, WordStats> summary = new HashMap<String, WordStats>();
+        long compactedThrough = readSummary(summary);
+
+        // segment ที่อยู่ในสรุปแล้วแต่ยังไม่ถูกลบ (ถูกปิดระหว่างรวบครั้งก่อน)
+        long[] numbers = segmentNumbers();
+        int stale = 0;
+        while (stale < numbers.length && numbers[stale] <= compactedThrough) {
+            segmentFile(numbers[stale]).delete();
+            stale++;
+        }
+
+        int closed = (out != null ? numbers.length - 1 : numbers.length) - stale;
+        int excess = closed - maxSegments;
+        if (excess <= 0) {
+            return 0;
+        }
+
+        for (int i = stale; i < stale + excess; i++) {
+            readSegment(segmentFile(numbers[i]), summary);
+        }
+        writeSummary(summary, numbers[stale + excess - 1]);
+
+        // ลบหลังจากสรุปถูกเขียนเรียบร้อยแล้ว ถ้าถูกปิดกลางทาง เลขใน summary จะกันไม่ให้นับซ้ำ
+        for (int i = stale; i < stale + excess; i++) {
+            segmentFile(numbers[i]).delete();
+        }
+        return excess;
+    }
+
+    /**
+     * สรุปรายคำของ segment ที่รวบไปแล้ว
+     */
+    public Map<String, WordStats> readSummary() throws IOException {
+        Map<String, WordStats> summary = new HashMap<String, WordStats>();
+        readSummary(summary);
+        return summary;
+    }
+
+    /**
+     * อ่าน summary ลง out (ถ้า null อ่านแค่ส่วนหัว) คืนเลข segment สุดท้ายที่รวบแล้ว หรือ -1
+     */
+    private long readSummary(Map<String, WordStats> out) throws IOException {
+        File file = new File(dir, SUMMARY_NAME);
+        if (file.exists() == false) {
+            return -1;
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            long compactedThrough;
+            int magic = in.readInt();
+            if (magic == SUMMARY_MAGIC) {
+                compactedThrough = in.readLong();
+            } else if (magic == LEGACY_SUMMARY_MAGIC) {
+                compactedThrough = -1;
+            } else {
+                throw new IOException("Not a journal summary: " + file);
+            }
+            if (out == null) {
+                return compactedThrough;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                WordStats stats = new WordStats();
+                String word = in.readUTF();
+                stats.guesses = in.readInt();
+                stats.correct = in.readInt();
+                stats.latencyTotal = in.readLong();
+                stats.pickedWrongly = in.readInt();
+                out.put(word, stats);
+            }
+            return compactedThrough;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * สรุปรายคำของทั้ง summary และ segment ที่ยังไม่ถูกรวบ (ไม่รวมที่ยังค้างใน ring)
+     */
+    public Map<String, WordStats> readAll() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+
+        Map<String, WordStats> summary = new HashMap<String, WordStats>();
+        long compactedThrough = readSummary(summary);
+        for (long number : segmentNumbers()) {
+            if (number > compactedThrough) {
+                readSegment(segmentFile(number), summary);
+            }
+        }
+        return summary;
+    }
+
+    private void readSegment(File file, Map<String, WordStats> summary) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            while (true) {
+                int flags = in.read();
+                if (flags < 0) {
+                    break;
+                }
+
+                String word = in.readUTF();
+                boolean correct = (flags & FLAG_CORRECT) != 0;
+                String chosen = correct ? word : in.readUTF();
+                int latency = in.readInt();
+                in.readLong();
+
+                WordStats stats = getStats(summary, word);
+                stats.guesses++;
+                if (correct) {
+                    stats.correct++;
+                    stats.latencyTotal += latency;
+                } else {
+                    getStats(summary, chosen).pickedWrongly++;
+                }
+            }
+        } catch (EOFException e) {
+            // รายการสุดท้ายเขียนไม่ครบ
+        } finally {
+            in.close();
+        }
+    }
+
+    private static WordStats getStats(Map<String, WordStats> summary, String word) {
+        WordStats stats = summary.get(word);
+        if (stats == null) {
+            stats = new WordStats();
+            summary.put(word, stats);
+        }
+        return stats;
+    }
+
+    private void writeSummary(Map<String, WordStats> summary, long compactedThrough)
+            throws IOException {
+        File tmp = new File(dir, SUMMARY_NAME + ".tmp");
+        DataOutputStream o = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+        try {
+            o.writeInt(SUMMARY_MAGIC);
+            o.writeLong(compactedThrough);
+            o.writeInt(summary.size());
+            for (Map.Entry<String, WordStats> entry : summary.entrySet()) {
+                WordStats stats = entry.getValue();
+                o.writeUTF(entry.getKey());
+                o.writeInt(stats.guesses);
+                o.writeInt(stats.correct);
+                o.writeLong(stats.latencyTotal);
+                o.writeInt(stats.pickedWrongly);
+            }
+        } finally {
+            o.close();
+        }
+
+        File file = new File(dir, SUMMARY_NAME);
+        if (tmp.renameTo(file) == false) {
+            file.delete();
+            if (tmp.renameTo(file) == false) {
+                throw new IOException("Cannot replace " + file);
+            }
+        }
+    }
+
+    private File segmentFile(long number) {
+        return new File(dir, SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private long[] segmentNumbers() {
+        String[] names = dir.list();
+        if (names == null) {
+            return new long[0];
+        }
+
+        long[] numbers = new long[names.length];
+        int count = 0;
+        for (String name : names) {
+            if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                try {
+                    numbers[count] = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length()));
+                    count++;
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+
+        numbers = Arrays.copyOf(numbers, count);
+        Arrays.sort(numbers);
+        return numbers;
+    }
+}
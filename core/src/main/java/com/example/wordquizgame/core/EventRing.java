@@ -0,0 +1,113 @@
+package com.example.wordquizgame.core;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ring buffer ของเหตุการณ์การตอบ สำหรับผู้เขียนหนึ่ง thread (main thread) และผู้อ่านหนึ่ง thread
+ * <p>
+ * เก็บข้อมูลใน array ที่จองไว้ตั้งแต่สร้าง การ {@link #offer} จึงไม่สร้าง object และไม่ล็อก
+ * มีแค่การเขียน array กับ lazySet ตัวนับหนึ่งครั้ง ถ้าเต็มจะทิ้งเหตุการณ์นั้นและนับไว้แทนการรอ
+ */
+public class EventRing {
+
+    /**
+     * ผู้รับเหตุการณ์ตอน {@link #drain}
+     */
+    public interface Sink {
+        void accept(String word, String chosen, boolean correct, int latencyMillis,
+                    int difficulty, long timeMillis) throws IOException;
+    }
+
+    private final int capacity;
+    private final int mask;
+
+    private final String[] words;
+    private final String[] chosen;
+    private final boolean[] correct;
+    private final int[] latencies;
+    private final int[] difficulties;
+    private final long[] times;
+
+    // head = ลำดับถัดไปที่จะอ่าน, tail = ลำดับถัดไปที่จะเขียน
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity ต้องเป็นเลขยกกำลังสอง
+     */
+    public EventRing(int capacity) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.words = new String[capacity];
+        this.chosen = new String[capacity];
+        this.correct = new boolean[capacity];
+        this.latencies = new int[capacity];
+        this.difficulties = new int[capacity];
+        this.times = new long[capacity];
+    }
+
+    /**
+     * เพิ่มเหตุการณ์หนึ่งรายการ คืน false ถ้าเต็ม (ผู้อ่านตามไม่ทัน)
+     * เรียกได้จาก thread เดียวเท่านั้น
+     */
+    public boolean offer(String word, String chosenWord, boolean isCorrect, long latencyMillis,
+                         int difficulty, long timeMillis) {
+        long t = tail.get();
+        if (t - head.get() >= capacity) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        int i = (int) t & mask;
+        words[i] = word;
+        chosen[i] = chosenWord;
+        correct[i] = isCorrect;
+        latencies[i] = (int) Math.min(latencyMillis, Integer.MAX_VALUE);
+        difficulties[i] = difficulty;
+        times[i] = timeMillis;
+
+        // ผู้อ่านเห็นข้อมูลข้างบนครบก่อนเห็น tail ใหม่
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * ส่งทุกเหตุการณ์ที่มีอยู่ให้ sink ตามลำดับ คืนจำนวนที่ส่ง
+     * ถ้า sink โยน exception รายการนั้นและที่เหลือจะยังอยู่ใน ring
+     */
+    public int drain(Sink sink) throws IOException {
+        long h = head.get();
+        long t = tail.get();
+
+        for (long seq = h; seq < t; seq++) {
+            int i = (int) seq & mask;
+            sink.accept(words[i], chosen[i], correct[i], latencies[i], difficulties[i], times[i]);
+
+            // ไม่ถือ reference ของคำไว้หลังอ่านแล้ว
+            words[i] = null;
+            chosen[i] = null;
+            head.lazySet(seq + 1);
+        }
+        return (int) (t - h);
+    }
+
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * จำนวนเหตุการณ์ที่ถูกทิ้งเพราะ ring เต็ม
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
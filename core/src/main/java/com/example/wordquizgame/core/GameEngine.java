@@ -0,0 +1,317 @@
+package com.example.wordquizgame.core;
+
+/**
+ * กติกาของเกมหนึ่งเกมโดยไม่ผูกกับหน้าจอ: เลือกคำถาม สุ่มตัวเลือก รับคำตอบ นับคะแนน และตัดสินว่าจบเกมหรือยัง
+ * <p>
+ * GameActivity เป็นแค่ตัวแสดงผลของ engine นี้ ส่วน {@link GameSimulator} ใช้ engine ตัวเดียวกันเล่นแทนคน
+ * ตัวเลือกอ้างถึงด้วยช่อง (slot) 0..numChoices-1 ซึ่งตรงกับลำดับปุ่มบนหน้าจอ
+ */
+public class GameEngine {
+
+    /**
+     * แหล่งคำถามของเกม (เช่น spaced repetition) และที่รับผลการตอบของแต่ละคำ
+     */
+    public interface QuestionSource {
+        void pickQuestions(int[] out);
+
+        void record(int index, int guesses);
+    }
+
+    /**
+     * สุ่มคำถามจาก {@link QuizGenerator} โดยไม่สนผลการตอบ
+     */
+    public static class RandomQuestions implements QuestionSource {
+
+        private final QuizGenerator generator;
+
+        public RandomQuestions(QuizGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void pickQuestions(int[] out) {
+            generator.pickQuestions(out);
+        }
+
+        @Override
+        public void record(int index, int guesses) {
+        }
+    }
+
+    // ผลของ guess()
+    public static final int WRONG = 0;
+    public static final int CORRECT = 1;
+    public static final int FINISHED = 2;
+    public static final int IGNORED = 3;
+
+    private final QuizGenerator generator;
+    private final QuestionSource source;
+    private final int numChoices;
+    private final int targetQuestions;
+    private final boolean timed;
+
+    private final int[] quizIndexes;
+    private final int[] choiceIndexes;
+
+    private int questionIndex;
+    private int answerIndex;
+    private int answerSlot;
+    private int disabledMask;
+
+    private int score;
+    private int totalGuesses;
+    private int questionGuesses;
+    private boolean answered;
+    private boolean finished;
+
+    private long latencyTotal;
+    private double speedTotal;
+
+    /**
+     * @param quizSize        จำนวนคำถามที่สุ่มต่อครั้ง (ต้องไม่เกินจำนวนคำในคลัง)
+     * @param targetQuestions จบเกมเมื่อตอบถูกครบจำนวนนี้ หรือ 0 ถ้าไม่จำกัด (จบเมื่อเรียก {@link #timeUp()})
+     * @param timed           คิดคะแนนตามเวลาตอบด้วย ({@link Scoring#blitzScore})
+     */
+    public GameEngine(QuizGenerator generator, QuestionSource source, int numChoices,
+                      int quizSize, int targetQuestions, boolean timed) {
+        this.generator = generator;
+        this.source = source;
+        this.numChoices = numChoices;
+        this.targetQuestions = targetQuestions;
+        this.timed = timed;
+        this.quizIndexes = new int[quizSize];
+        this.choiceIndexes = new int[numChoices];
+    }
+
+    /**
+     * จำนวนตัวเลือกของระดับความยาก 0 (ง่าย), 1 (ปานกลาง), 2 (ยาก)
+     */
+    public static int numChoicesFor(int difficulty) {
+        switch (difficulty) {
+            case 1:
+                return 4;
+            case 2:
+                return 6;
+            default:
+                return 2;
+        }
+    }
+
+    /**
+     * ระดับยาก (2) ใช้ตัวหลอกหมวดเดียวกันที่คล้ายคำตอบ ระดับอื่นสุ่มจากทุกคำ
+     */
+    public static boolean usesDistractors(int difficulty) {
+        return difficulty == 2;
+    }
+
+    public void start() {
+        start(null);
+    }
+
+    /**
+     * เริ่มเกมใหม่ ถ้า preparedQuestions มีขนาดเท่ากับชุดคำถามจะใช้ชุดนั้นแทนการสุ่ม
+     * ต้องเรียก {@link #nextQuestion()} ต่อเพื่อเริ่มข้อแรก
+     */
+    public void start(int[] preparedQuestions) {
+        score = 0;
+        totalGuesses = 0;
+        questionGuesses = 0;
+        answered = false;
+        finished = false;
+        latencyTotal = 0;
+        speedTotal = 0;
+
+        if (preparedQuestions != null && preparedQuestions.length == quizIndexes.length) {
+            System.arraycopy(preparedQuestions, 0, quizIndexes, 0, quizIndexes.length);
+        } else {
+            source.pickQuestions(quizIndexes);
+        }
+        questionIndex = 0;
+    }
+
+    /**
+     * ไปข้อถัดไปแล้วสุ่มตัวเลือก คืน index ของคำตอบ
+     * ถ้าใช้คำถามชุดเดิมหมดแล้ว (เกมไม่จำกัดจำนวนข้อ) จะสุ่มชุดใหม่
+     */
+    public int nextQuestion() {
+        if (questionIndex == quizIndexes.length) {
+            source.pickQuestions(quizIndexes);
+            questionIndex = 0;
+        }
+
+        answerIndex = quizIndexes[questionIndex++];
+        answerSlot = generator.pickChoiceIndexes(answerIndex, choiceIndexes);
+        questionGuesses = 0;
+        disabledMask = 0;
+        answered = false;
+        return answerIndex;
+    }
+
+    /**
+     * ตอบด้วยตัวเลือกช่อง slot ซึ่งใช้เวลาคิดไป latencyMillis
+     * คืน {@link #WRONG}, {@link #CORRECT}, {@link #FINISHED} (ตอบถูกและจบเกม)
+     * หรือ {@link #IGNORED} ถ้าตอบไม่ได้ (ตอบถูกไปแล้ว จบเกมแล้ว หรือช่องนั้นถูกปิด)
+     */
+    public int guess(int slot, long latencyMillis) {
+        if (finished || answered || isDisabled(slot)) {
+            return IGNORED;
+        }
+
+        totalGuesses++;
+        questionGuesses++;
+
+        if (slot != answerSlot) {
+            disabledMask |= 1 << slot;
+            return WRONG;
+        }
+
+        score++;
+        answered = true;
+        disabledMask = (1 << numChoices) - 1;
+        latencyTotal += latencyMillis;
+        speedTotal += Scoring.speedFactor(latencyMillis);
+
+        source.record(answerIndex, questionGuesses);
+
+        if (targetQuestions > 0 && score >= targetQuestions) {
+            finished = true;
+            return FINISHED;
+        }
+        return CORRECT;
+    }
+
+    /**
+     * จบเกมเพราะหมดเวลา
+     */
+    public void timeUp() {
+        finished = true;
+        disabledMask = (1 << numChoices) - 1;
+    }
+
+    public double getScore() {
+        if (timed) {
+            return Scoring.blitzScore(score, totalGuesses, speedTotal);
+        }
+        if (totalGuesses == 0) {
+            return 0;
+        }
+        return Scoring.percentCorrect(score, totalGuesses);
+    }
+
+    /**
+     * เวลาตอบเฉลี่ย (ms) ของข้อที่ตอบถูก
+     */
+    public long getAverageLatency() {
+        return score == 0 ? 0 : latencyTotal / score;
+    }
+
+    public int getCorrectCount() {
+        return score;
+    }
+
+    public int getTotalGuesses() {
+        return totalGuesses;
+    }
+
+    public int getQuestionGuesses() {
+        return questionGuesses;
+    }
+
+    public int getTargetQuestions() {
+        return targetQuestions;
+    }
+
+    public boolean isTimed() {
+        return timed;
+    }
+
+    public int getNumChoices() {
+        return numChoices;
+    }
+
+    public int getAnswerIndex() {
+        return answerIndex;
+    }
+
+    public int getAnswerSlot() {
+        return answerSlot;
+    }
+
+    public int getChoiceIndex(int slot) {
+        return choiceIndexes[slot];
+    }
+
+    public boolean isDisabled(int slot) {
+        return (disabledMask & (1 << slot)) != 0;
+    }
+
+    public boolean isAnswered() {
+        return answered;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * index ของคำถามข้อถัดไปในชุดปัจจุบัน หรือ -1 ถ้าต้องสุ่มชุดใหม่
+     */
+    public int peekNextQuestion() {
+        return questionIndex < quizIndexes.length ? quizIndexes[questionIndex] : -1;
+    }
+
+    /**
+     * สถานะปัจจุบันสำหรับบันทึก (เวลาที่ใช้ไปและเวลาที่เหลือให้ผู้เรียกกรอกเอง)
+     */
+    public GameSnapshot toSnapshot() {
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.score = score;
+        snapshot.totalGuesses = totalGuesses;
+        snapshot.questionGuesses = questionGuesses;
+        snapshot.questionIndex = questionIndex;
+        snapshot.answerIndex = answerIndex;
+        snapshot.disabledMask = disabledMask;
+        snapshot.answered = answered;
+        snapshot.finished = finished;
+        snapshot.latencyTotal = (int) latencyTotal;
+        snapshot.speedTotal = (int) Math.round(speedTotal * 1000);
+        snapshot.quizIndexes = quizIndexes.clone();
+        snapshot.choiceIndexes = choiceIndexes.clone();
+        return snapshot;
+    }
+
+    /**
+     * กลับสู่สถานะใน snapshot คืน false (และไม่เปลี่ยนอะไร) ถ้าใช้กับคลังขนาด bankSize ไม่ได้
+     */
+    public boolean restore(GameSnapshot snapshot, int bankSize) {
+        if (snapshot.isValidFor(bankSize, quizIndexes.length, numChoices) == false) {
+            return false;
+        }
+
+        int slot = -1;
+        for (int i = 0; i < numChoices; i++) {
+            if (snapshot.choiceIndexes[i] == snapshot.answerIndex) {
+                slot = i;
+                break;
+            }
+        }
+        if (slot < 0) {
+            return false;
+        }
+
+        score = snapshot.score;
+        totalGuesses = snapshot.totalGuesses;
+        questionGuesses = snapshot.questionGuesses;
+        questionIndex = snapshot.questionIndex;
+        answerIndex = snapshot.answerIndex;
+        answerSlot = slot;
+        disabledMask = snapshot.disabledMask;
+        answered = snapshot.answered;
+        finished = snapshot.finished;
+        latencyTotal = snapshot.latencyTotal;
+        speedTotal = snapshot.speedTotal / 1000.0;
+        System.arraycopy(snapshot.quizIndexes, 0, quizIndexes, 0, quizIndexes.length);
+        System.arraycopy(snapshot.choiceIndexes, 0, choiceIndexes, 0, numChoices);
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.wordquizgame.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ตัวจัดคิวงานหน่วงเวลาของเกม (เช่นเปลี่ยนไปข้อถัดไป) ที่ activity เป็นเจ้าของ
+ * <p>
+ * งานทั้งหมดอยู่ในคิวของ scheduler ตัวเดียว จึงหยุดชั่วคราวตอน onPause
+ * และยกเลิกทั้งหมดตอน onDestroy ได้ในที่เดียว ไม่มี Runnable ค้างอยู่ใน Handler ที่อ้างถึง activity เก่า
+ * เวลามาจาก {@link Clock} ที่เปลี่ยนได้ เทสต์จึงใช้ {@link VirtualClock} เลื่อนเวลาเองได้
+ */
+public class GameScheduler {
+
+    /**
+     * เวลาปัจจุบันหน่วย milliseconds (บน Android ใช้ SystemClock.uptimeMillis())
+     */
+    public interface Clock {
+        long now();
+    }
+
+    /**
+     * ปลุกให้เรียก {@link #runDue()} เมื่อถึงเวลา atMillis (บน Android ใช้ Handler.postAtTime)
+     * จะมีการปลุกค้างอยู่ได้ครั้งเดียว เรียกใหม่ให้แทนที่ของเดิม
+     */
+    public interface Waker {
+        void wakeAt(long atMillis);
+
+        void cancelWake();
+    }
+
+    /**
+     * งานที่ถูกตั้งเวลาไว้ ใช้ยกเลิกด้วย {@link #cancel(Task)}
+     */
+    public static final class Task {
+        private final Runnable action;
+        private long due;
+
+        private Task(Runnable action, long due) {
+            this.action = action;
+            this.due = due;
+        }
+    }
+
+    private final Clock clock;
+    private final Waker waker;
+
+    // เรียงตามเวลาที่ถึงกำหนด งานที่ถึงพร้อมกันเรียงตามลำดับที่ตั้ง
+    private final List<Task> tasks = new ArrayList<Task>();
+
+    private boolean paused;
+    private long pausedAt;
+
+    /**
+     * waker เป็น null ได้ ในกรณีนั้นต้องเรียก {@link #runDue()} เอง
+     */
+    public GameScheduler(Clock clock, Waker waker) {
+        this.clock = clock;
+        this.waker = waker;
+    }
+
+    public Task schedule(Runnable action, long delayMillis) {
+        long base = paused ? pausedAt : clock.now();
+        Task task = new Task(action, base + Math.max(0, delayMillis));
+
+        int pos = tasks.size();
+        while (pos > 0 && tasks.get(pos - 1).due > task.due) {
+            pos--;
+        }
+        tasks.add(pos, task);
+
+        if (pos == 0) {
+            rewake();
+        }
+        return task;
+    }
+
+    /**
+     * ยกเลิกงาน คืน false ถ้างานนั้นทำไปแล้วหรือถูกยกเลิกไปแล้ว
+     */
+    public boolean cancel(Task task) {
+        int pos = tasks.indexOf(task);
+        if (pos < 0) {
+            return false;
+        }
+
+        tasks.remove(pos);
+        if (pos == 0) {
+            rewake();
+        }
+        return true;
+    }
+
+    public void cancelAll() {
+        tasks.clear();
+        if (waker != null) {
+            waker.cancelWake();
+        }
+    }
+
+    /**
+     * หยุดนับเวลา งานที่ค้างอยู่จะเหลือเวลาเท่าเดิมเมื่อ {@link #resume()}
+     */
+    public void pause() {
+        if (paused) {
+            return;
+        }
+        paused = true;
+        pausedAt = clock.now();
+
+        if (waker != null) {
+            waker.cancelWake();
+        }
+    }
+
+    public void resume() {
+        if (paused == false) {
+            return;
+        }
+        paused = false;
+
+        long shift = clock.now() - pausedAt;
+        for (Task task : tasks) {
+            task.due += shift;
+        }
+        rewake();
+    }
+
+    /**
+     * เวลาที่เหลือก่อนงานจะถึงกำหนด (ไม่นับช่วงที่หยุดอยู่) คืน 0 ถ้างานทำไปแล้วหรือถูกยกเลิก
+     */
+    public long getRemaining(Task task) {
+        if (tasks.contains(task) == false) {
+            return 0;
+        }
+        long now = paused ? pausedAt : clock.now();
+        return Math.max(0, task.due - now);
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * จำนวนงานที่ยังค้างอยู่ หลัง onDestroy ต้องเป็น 0
+     */
+    public int getPendingCount() {
+        return tasks.size();
+    }
+
+    /**
+     * ทำงานที่ถึงกำหนดแล้วทั้งหมดตามลำดับ งานที่ถูกตั้งระหว่างนี้และถึงกำหนดแล้วจะถูกทำด้วย
+     */
+    public void runDue() {
+        while (paused == false && tasks.isEmpty() == false) {
+            Task task = tasks.get(0);
+            if (task.due > clock.now()) {
+                break;
+            }
+
+            tasks.remove(0);
+            task.action.run();
+        }
+        rewake();
+    }
+
+    private void rewake() {
+        if (waker == null || paused) {
+            return;
+        }
+
+        if (tasks.isEmpty()) {
+            waker.cancelWake();
+        } else {
+            waker.wakeAt(tasks.get(0).due);
+        }
+    }
+
+    /**
+     * นาฬิกาสำหรับเทสต์ที่เดินเมื่อสั่งเท่านั้น
+     */
+    public static class VirtualClock implements Clock {
+        private long now;
+
+        @Override
+        public long now() {
+            return now;
+        }
+
+        /**
+         * เลื่อนเวลาไป millis แล้วทำงานที่ถึงกำหนดใน scheduler
+         */
+        public void advance(long millis, GameScheduler scheduler) {
+            now += millis;
+            scheduler.runDue();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.wordquizgame.core;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ให้ bot เล่นเกมจำนวนมากด้วย {@link GameEngine} เพื่อดูว่าคะแนนกระจายอย่างไรในแต่ละระดับความยาก
+ * <p>
+ * bot ตอบถูกด้วยความน่าจะเป็น accuracy ไม่อย่างนั้นจะเลือกตัวหลอกที่ยังกดได้แบบสุ่ม
+ * งานถูกแบ่งเป็นช่วงของเกมด้วย fork/join แต่ละช่วงใช้ Random และ engine ของตัวเอง
+ * ผลจึงขึ้นกับ seed เท่านั้น ไม่ขึ้นกับจำนวน thread
+ * <p>
+ * รัน: java -cp core.jar com.example.wordquizgame.core.GameSimulator [games] [accuracy] [bankSize]
+ */
+public class GameSimulator {
+
+    // จำนวนเกมที่เล็กพอจะเล่นใน thread เดียว
+    private static final int GAMES_PER_TASK = 4096;
+
+    private final WordList words;
+    private final DistractorIndex distractors;
+    private final int numQuestions;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param distractors ตัวเลือกแบบคล้ายคำตอบ ใช้เฉพาะระดับที่ {@link GameEngine#usesDistractors(int)}
+     *                    เหมือนในแอป หรือ null ถ้าสุ่มจากทุกคำทุกระดับ
+     */
+    public GameSimulator(WordList words, DistractorIndex distractors, int numQuestions,
+                         ForkJoinPool pool) {
+        this.words = words;
+        this.distractors = distractors;
+        this.numQuestions = numQuestions;
+        this.pool = pool;
+    }
+
+    /**
+     * เล่น games เกมในระดับ difficulty แล้วคืนการกระจายของคะแนน
+     */
+    public ScoreDistribution run(int games, int difficulty, double accuracy, long seed) {
+        DistractorIndex index = GameEngine.usesDistractors(difficulty) ? distractors : null;
+        return pool.invoke(new SimulateTask(0, games, GameEngine.numChoicesFor(difficulty),
+                index, accuracy, seed));
+    }
+
+    /**
+     * เล่นหนึ่งเกมจนจบด้วย engine ที่ start แล้ว
+     */
+    static void play(GameEngine engine, double accuracy, Random random) {
+        while (engine.isFinished() == false) {
+            engine.nextQuestion();
+
+            int result;
+            do {
+                result = engine.guess(chooseSlot(engine, accuracy, random), 0);
+            } while (result == GameEngine.WRONG);
+        }
+    }
+
+    private static int chooseSlot(GameEngine engine, double accuracy, Random random) {
+        int numChoices = engine.getNumChoices();
+        int answerSlot = engine.getAnswerSlot();
+
+        int wrong = 0;
+        for (int slot = 0; slot < numChoices; slot++) {
+            if (slot != answerSlot && engine.isDisabled(slot) == false) {
+                wrong++;
+            }
+        }
+        if (wrong == 0 || random.nextDouble() < accuracy) {
+            return answerSlot;
+        }
+
+        int n = random.nextInt(wrong);
+        for (int slot = 0; slot < numChoices; slot++) {
+            if (slot != answerSlot && engine.isDisabled(slot) == false && n-- == 0) {
+                return slot;
+            }
+        }
+        return answerSlot;
+    }
+
+    private class SimulateTask extends RecursiveTask<ScoreDistribution> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int numChoices;
+        private final DistractorIndex distractors;
+        private final double accuracy;
+        private final long seed;
+
+        SimulateTask(int from, int to, int numChoices, DistractorIndex distractors,
+                     double accuracy, long seed) {
+            this.from = from;
+            this.to = to;
+            this.numChoices = numChoices;
+            this.distractors = distractors;
+            this.accuracy = accuracy;
+            this.seed = seed;
+        }
+
+        @Override
+        protected ScoreDistribution compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                return playRange();
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulateTask left = new SimulateTask(from, middle, numChoices, distractors,
+                    accuracy, seed);
+            SimulateTask right = new SimulateTask(middle, to, numChoices, distractors,
+                    accuracy, seed);
+            left.fork();
+
+            ScoreDistribution result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private ScoreDistribution playRange() {
+            // seed ต่อช่วงคงที่ ผลของแต่ละช่วงจึงไม่ขึ้นกับว่า thread ไหนเล่น
+            Random random = new Random(seed * 31 + from);
+            QuizGenerator generator = new QuizGenerator(words, numChoices, random, distractors);
+            GameEngine engine = new GameEngine(generator, new GameEngine.RandomQuestions(generator),
+                    numChoices, numQuestions, numQuestions, false);
+
+            ScoreDistribution distribution = new ScoreDistribution();
+            for (int game = from; game < to; game++) {
+                engine.start();
+                play(engine, accuracy, random);
+                distribution.add(engine.getScore());
+            }
+            return distribution;
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        double accuracy = args.length > 1 ? Double.parseDouble(args[1]) : 0.7;
+        int bankSize = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        final String[] categories = {"animals", "body", "colors", "numbers", "objects"};
+        final String[] names = new String[bankSize];
+        for (int i = 0; i < bankSize; i++) {
+            names[i] = "word" + i;
+        }
+
+        WordList words = new WordList() {
+            @Override
+            public int size() {
+                return names.length;
+            }
+
+            @Override
+            public String getWord(int index) {
+                return names[index];
+            }
+
+            @Override
+            public String getCategory(int index) {
+                return categories[index % categories.length];
+            }
+        };
+
+        ForkJoinPool pool = new ForkJoinPool();
+        GameSimulator simulator = new GameSimulator(words, new DistractorIndex(words), 5, pool);
+
+        String[] difficulties = {"easy", "medium", "hard"};
+        for (int difficulty = 0; difficulty < difficulties.length; difficulty++) {
+            long start = System.nanoTime();
+            ScoreDistribution distribution = simulator.run(games, difficulty, accuracy, 42);
+            long millis = (System.nanoTime() - start) / 1000000;
+
+            System.out.println(difficulties[difficulty] + ": " + distribution + " (" + millis + " ms)");
+        }
+        pool.shutdown();
+    }
+}
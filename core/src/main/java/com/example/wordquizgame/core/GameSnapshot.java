@@ -0,0 +1,153 @@
+package com.example.wordquizgame.core;
+
+/**
+ * สถานะของเกมที่กำลังเล่นอยู่ เก็บเป็น int[] เล็ก ๆ ใส่ใน Bundle ได้โดยตรง
+ * <p>
+ * รูปแบบ: [VERSION, score, totalGuesses, questionGuesses, questionIndex, answerIndex,
+ * disabledMask, answered, finished, latencyTotal, speedTotal, elapsedMillis, remainingMillis,
+ * จำนวนคำถาม, quizIndexes..., จำนวนตัวเลือก, choiceIndexes...]
+ */
+public class GameSnapshot {
+
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 13;
+
+    public int score;
+    public int totalGuesses;
+    public int questionGuesses;
+    public int questionIndex;
+    public int answerIndex;
+
+    /**
+     * bit ที่ i เป็น 1 ถ้าปุ่มตัวเลือกที่ i ถูกปิดไปแล้ว
+     */
+    public int disabledMask;
+
+    /**
+     * ตอบข้อปัจจุบันถูกแล้ว กำลังรอไปข้อถัดไป
+     */
+    public boolean answered;
+
+    /**
+     * จบเกมแล้ว (บันทึกคะแนนไปแล้ว) กำลังแสดงสรุปผล
+     */
+    public boolean finished;
+
+    /**
+     * ผลรวมเวลาตอบ (ms) ของข้อที่ตอบถูก
+     */
+    public int latencyTotal;
+
+    /**
+     * ผลรวมตัวคูณความเร็วของข้อที่ตอบถูก คูณ 1000
+     */
+    public int speedTotal;
+
+    /**
+     * เวลาที่ใช้ไปกับข้อปัจจุบันแล้ว (ms)
+     */
+    public int elapsedMillis;
+
+    /**
+     * เวลาที่เหลือของโหมดจับเวลา (ms) หรือ -1 ถ้าไม่จับเวลา
+     */
+    public int remainingMillis = -1;
+
+    public int[] quizIndexes;
+    public int[] choiceIndexes;
+
+    public int[] toIntArray() {
+        int[] data = new int[HEADER_SIZE + 1 + quizIndexes.length + 1 + choiceIndexes.length];
+
+        data[0] = VERSION;
+        data[1] = score;
+        data[2] = totalGuesses;
+        data[3] = questionGuesses;
+        data[4] = questionIndex;
+        data[5] = answerIndex;
+        data[6] = disabledMask;
+        data[7] = answered ? 1 : 0;
+        data[8] = finished ? 1 : 0;
+        data[9] = latencyTotal;
+        data[10] = speedTotal;
+        data[11] = elapsedMillis;
+        data[12] = remainingMillis;
+
+        int pos = HEADER_SIZE;
+        data[pos++] = quizIndexes.length;
+        System.arraycopy(quizIndexes, 0, data, pos, quizIndexes.length);
+        pos += quizIndexes.length;
+
+        data[pos++] = choiceIndexes.length;
+        System.arraycopy(choiceIndexes, 0, data, pos, choiceIndexes.length);
+
+        return data;
+    }
+
+    /**
+     * อ่านกลับจาก {@link #toIntArray()} คืน null ถ้าข้อมูลไม่ถูกต้องหรือเป็นรุ่นอื่น
+     */
+    public static GameSnapshot fromIntArray(int[] data) {
+        if (data == null || data.length < HEADER_SIZE + 2 || data[0] != VERSION) {
+            return null;
+        }
+
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.score = data[1];
+        snapshot.totalGuesses = data[2];
+        snapshot.questionGuesses = data[3];
+        snapshot.questionIndex = data[4];
+        snapshot.answerIndex = data[5];
+        snapshot.disabledMask = data[6];
+        snapshot.answered = data[7] != 0;
+        snapshot.finished = data[8] != 0;
+        snapshot.latencyTotal = data[9];
+        snapshot.speedTotal = data[10];
+        snapshot.elapsedMillis = data[11];
+        snapshot.remainingMillis = data[12];
+
+        int pos = HEADER_SIZE;
+        int quizCount = data[pos++];
+        if (quizCount < 0 || pos + quizCount + 1 > data.length) {
+            return null;
+        }
+        snapshot.quizIndexes = new int[quizCount];
+        System.arraycopy(data, pos, snapshot.quizIndexes, 0, quizCount);
+        pos += quizCount;
+
+        int choiceCount = data[pos++];
+        if (choiceCount < 0 || pos + choiceCount != data.length) {
+            return null;
+        }
+        snapshot.choiceIndexes = new int[choiceCount];
+        System.arraycopy(data, pos, snapshot.choiceIndexes, 0, choiceCount);
+
+        return snapshot;
+    }
+
+    /**
+     * ตรวจว่า index ทุกตัวใช้ได้กับคลังขนาด bankSize
+     */
+    public boolean isValidFor(int bankSize, int numQuestions, int numChoices) {
+        if (quizIndexes.length != numQuestions || choiceIndexes.length != numChoices) {
+            return false;
+        }
+        if (questionIndex < 1 || questionIndex > numQuestions) {
+            return false;
+        }
+        if (answerIndex < 0 || answerIndex >= bankSize) {
+            return false;
+        }
+        for (int index : quizIndexes) {
+            if (index < 0 || index >= bankSize) {
+                return false;
+            }
+        }
+        for (int index : choiceIndexes) {
+            if (index < 0 || index >= bankSize) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.wordquizgame.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * อ่านไฟล์ pack ที่รวมรูปคำศัพท์ทั้งหมดไว้ในไฟล์เดียว (สร้างด้วย {@link ImagePackWriter})
+ * <p>
+ * รูปแบบไฟล์ (big-endian):
+ * <pre>
+ * int    MAGIC, VERSION, count
+ * count x { int offset, int length }      ตารางตำแหน่งของรูป เรียงตาม word ID
+ * count x { short n, byte[n] UTF-8 }      path ของรูป เช่น animals/animals-cat.png
+ * ...                                     ข้อมูลรูป (PNG เดิม) เริ่มที่ offset ของแต่ละรูป
+ * </pre>
+ * ใช้กับ ByteBuffer ที่ map มาจากไฟล์ได้โดยตรง การเปิดรูปแต่ละรูปจึงไม่ต้องเปิดไฟล์ใหม่
+ */
+public class ImagePack {
+
+    public static final int MAGIC = 0x5751504B; // "WQPK"
+    public static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 12;
+    static final int ENTRY_SIZE = 8;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final String[] paths;
+    private final Map<String, Integer> ids;
+
+    /**
+     * อ่านส่วนหัวและตาราง path ทั้งหมดครั้งเดียว ไฟล์ที่ถูกตัดหรือเสียจะได้ IOException
+     * ตั้งแต่ตอนเปิด ไม่ใช่ตอนเปิดรูป
+     */
+    public ImagePack(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.duplicate();
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an image pack");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported image pack version " + buffer.getInt(4));
+        }
+
+        count = buffer.getInt(8);
+        if (count < 0 || HEADER_SIZE + (long) count * ENTRY_SIZE > buffer.limit()) {
+            throw new IOException("Corrupt image pack");
+        }
+
+        paths = new String[count];
+        ids = new HashMap<String, Integer>(count * 2);
+        ByteBuffer table = buffer.duplicate();
+        int pos = HEADER_SIZE + count * ENTRY_SIZE;
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < count; i++) {
+            if (pos + 2 > buffer.limit()) {
+                throw new IOException("Corrupt image pack path " + i);
+            }
+            int n = buffer.getShort(pos) & 0xFFFF;
+            pos += 2;
+            if (pos + n > buffer.limit()) {
+                throw new IOException("Corrupt image pack path " + i);
+            }
+            if (n > bytes.length) {
+                bytes = new byte[n];
+            }
+            table.position(pos);
+            table.get(bytes, 0, n);
+            paths[i] = new String(bytes, 0, n, UTF_8);
+            ids.put(paths[i], i);
+            pos += n;
+        }
+
+        // ข้อมูลรูปต้องอยู่หลังส่วนหัวทั้งหมดและไม่เกินท้ายไฟล์
+        for (int i = 0; i < count; i++) {
+            int offset = getOffset(i);
+            int length = getLength(i);
+            if (offset < pos || length < 0 || (long) offset + length > buffer.limit()) {
+                throw new IOException("Corrupt image pack entry " + i);
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * path ของรูปที่ word ID นี้ในรูปแบบ &lt;category&gt;/&lt;category&gt;-&lt;word&gt;.png
+     */
+    public String getPath(int id) {
+        return paths[id];
+    }
+
+    public int getOffset(int id) {
+        return buffer.getInt(HEADER_SIZE + id * ENTRY_SIZE);
+    }
+
+    public int getLength(int id) {
+        return buffer.getInt(HEADER_SIZE + id * ENTRY_SIZE + 4);
+    }
+
+    /**
+     * คืน word ID ของ path หรือ -1 ถ้าไม่มี
+     */
+    public int indexOf(String path) {
+        Integer id = ids.get(path);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * ข้อมูลรูปของ word ID เป็น ByteBuffer ที่ชี้เข้าไปในไฟล์ pack โดยไม่ copy
+     */
+    public ByteBuffer slice(int id) {
+        ByteBuffer region = buffer.duplicate();
+        int offset = getOffset(id);
+        region.limit(offset + getLength(id));
+        region.position(offset);
+        return region.slice();
+    }
+
+    public InputStream open(int id) {
+        return new ByteBufferInputStream(slice(id));
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (buffer.hasRemaining() == false) {
+                return -1;
+            }
+
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.wordquizgame.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * สร้างไฟล์ pack จากโฟลเดอร์รูปคำศัพท์ &lt;dir&gt;/&lt;category&gt;/&lt;category&gt;-&lt;word&gt;.png
+ * ใช้ตอน build ผ่าน gradle task ของ app รูปแบบไฟล์ดูที่ {@link ImagePack}
+ * <p>
+ * ใช้งาน: java ImagePackWriter &lt;images dir&gt; &lt;output file&gt;
+ */
+public class ImagePackWriter {
+
+    private ImagePackWriter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ImagePackWriter <images dir> <output file>");
+            System.exit(2);
+        }
+
+        int count = write(new File(args[0]), new File(args[1]));
+        System.out.println("Packed " + count + " images into " + args[1]);
+    }
+
+    /**
+     * รวมรูปทั้งหมดใน imagesDir ลงไฟล์ out เรียงตามหมวดแล้วตามชื่อไฟล์ คืนจำนวนรูป
+     */
+    public static int write(File imagesDir, File out) throws IOException {
+        List<String> paths = new ArrayList<String>();
+        List<File> files = new ArrayList<File>();
+
+        File[] categoryDirs = imagesDir.listFiles();
+        if (categoryDirs == null) {
+            throw new IOException("Cannot list " + imagesDir);
+        }
+        Arrays.sort(categoryDirs);
+
+        for (File categoryDir : categoryDirs) {
+            String[] fileNames = categoryDir.list();
+            if (fileNames == null) {
+                continue;
+            }
+            Arrays.sort(fileNames);
+
+            for (String fileName : fileNames) {
+                if (fileName.endsWith(".png") && fileName.indexOf('-') > 0) {
+                    paths.add(categoryDir.getName() + "/" + fileName);
+                    files.add(new File(categoryDir, fileName));
+                }
+            }
+        }
+
+        int count = paths.size();
+
+        // ส่วน path เขียนแยกไว้ก่อนเพื่อรู้ว่าข้อมูลรูปเริ่มที่ตำแหน่งไหน
+        ByteArrayOutputStream pathBytes = new ByteArrayOutputStream();
+        for (String path : paths) {
+            byte[] bytes = path.getBytes("UTF-8");
+            if (bytes.length > 0xFFFF) {
+                throw new IOException("Path too long: " + path);
+            }
+            pathBytes.write(bytes.length >>> 8);
+            pathBytes.write(bytes.length);
+            pathBytes.write(bytes);
+        }
+
+        long offset = ImagePack.HEADER_SIZE + (long) count * ImagePack.ENTRY_SIZE + pathBytes.size();
+        int[] offsets = new int[count];
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            long length = files.get(i).length();
+            if (offset + length > Integer.MAX_VALUE) {
+                throw new IOException("Image pack larger than 2 GB");
+            }
+            offsets[i] = (int) offset;
+            lengths[i] = (int) length;
+            offset += length;
+        }
+
+        File parent = out.getAbsoluteFile().getParentFile();
+        if (parent != null && parent.isDirectory() == false && parent.mkdirs() == false) {
+            throw new IOException("Cannot create " + parent);
+        }
+
+        DataOutputStream data = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(out)));
+        try {
+            data.writeInt(ImagePack.MAGIC);
+            data.writeInt(ImagePack.VERSION);
+            data.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                data.writeInt(offsets[i]);
+                data.writeInt(lengths[i]);
+            }
+            pathBytes.writeTo(data);
+
+            byte[] copyBuffer = new byte[64 * 1024];
+            for (int i = 0; i < count; i++) {
+                copy(files.get(i), data, copyBuffer, lengths[i]);
+            }
+        } finally {
+            data.close();
+        }
+        return count;
+    }
+
+    private static void copy(File file, OutputStream out, byte[] buffer, int expected)
+            throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            int total = 0;
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+            }
+            if (total != expected) {
+                throw new IOException(file + " changed while packing");
+            }
+        } finally {
+            in.close();
+        }
+    }
+}
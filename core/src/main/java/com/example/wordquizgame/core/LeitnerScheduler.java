@@ -0,0 +1,190 @@
+package com.example.wordquizgame.core;
+
+import java.util.Random;
+
+/**
+ * เลือกคำถามแบบ spaced repetition ตามระบบกล่องของ Leitner
+ * <p>
+ * คำที่ตอบถูกตั้งแต่ครั้งแรกจะเลื่อนไปกล่องถัดไปและเว้นระยะนานขึ้น ตอบผิดจะกลับไปกล่องแรก
+ * เวลานับเป็นรอบ (หนึ่งรอบต่อหนึ่งคำถามที่ตอบเสร็จ) คำที่ถึงกำหนดก่อนจะถูกเลือกก่อน
+ * คำที่ยังไม่เคยเห็นจะถูกสุ่มลำดับแล้วทยอยถึงกำหนดรอบละหนึ่งคำ ปนไปกับคำที่ต้องทบทวน
+ * ใช้ binary heap แบบมี index จึงเลือกและอัปเดตแต่ละคำได้ใน O(log n)
+ */
+public class LeitnerScheduler {
+
+    public static final int[] INTERVALS = {1, 3, 7, 15, 31};
+    public static final int MAX_BOX = INTERVALS.length - 1;
+
+    private final int size;
+    private final int[] box;
+    private final long[] due;
+    private final int[] rank;
+    private final boolean[] seen;
+
+    // heap[i] = index ของคำ, position[word] = ตำแหน่งใน heap
+    private final int[] heap;
+    private final int[] position;
+
+    private long round;
+
+    public LeitnerScheduler(int size, Random random) {
+        this.size = size;
+        this.box = new int[size];
+        this.due = new long[size];
+        this.rank = new int[size];
+        this.seen = new boolean[size];
+        this.heap = new int[size];
+        this.position = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            rank[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = rank[i];
+            rank[i] = rank[j];
+            rank[j] = tmp;
+        }
+
+        for (int i = 0; i < size; i++) {
+            heap[i] = i;
+            position[i] = i;
+        }
+        heapify();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getRound() {
+        return round;
+    }
+
+    public int getBox(int index) {
+        return box[index];
+    }
+
+    public long getDue(int index) {
+        return due[index];
+    }
+
+    /**
+     * คืนสถานะที่บันทึกไว้ ใช้ตอนสร้าง scheduler ใหม่ แล้วเรียก {@link #heapify()} เมื่อคืนครบ
+     */
+    public void restore(int index, int box, long due) {
+        this.box[index] = Math.max(0, Math.min(MAX_BOX, box));
+        this.due[index] = due;
+        this.seen[index] = true;
+    }
+
+    public void setRound(long round) {
+        this.round = round;
+    }
+
+    /**
+     * จัด heap ใหม่ทั้งหมดใน O(n) หลังจาก {@link #restore(int, int, long)}
+     */
+    public void heapify() {
+        for (int i = 0; i < size; i++) {
+            if (seen[i] == false) {
+                due[i] = round + rank[i];
+            }
+        }
+
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * เลือกคำที่ถึงกำหนดก่อนที่สุด out.length คำ (ไม่ซ้ำกัน)
+     * คำที่เลือกแต่ยังไม่ได้ {@link #record(int, boolean)} จะยังมีกำหนดเดิม
+     * คำที่จำได้แล้วจึงไม่ถูกดึงมาหน้าคิวเพียงเพราะถูกเลือกแต่ไม่ได้ตอบ
+     */
+    public void pickQuestions(int[] out) {
+        if (out.length > size) {
+            throw new IllegalArgumentException(
+                    "Cannot pick " + out.length + " questions from " + size);
+        }
+
+        // ดันคำที่เลือกไปท้าย heap ชั่วคราว คำถัดไปจึงไม่ซ้ำ
+        long[] saved = new long[out.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = heap[0];
+            saved[i] = due[out[i]];
+            due[out[i]] = Long.MAX_VALUE;
+            siftDown(0);
+        }
+
+        // คืนกำหนดเดิมให้คำที่เลือก
+        for (int i = 0; i < out.length; i++) {
+            due[out[i]] = saved[i];
+            siftUp(position[out[i]]);
+        }
+    }
+
+    /**
+     * บันทึกผลของคำหนึ่ง แล้วคืนกล่องใหม่ของคำนั้น
+     */
+    public int record(int index, boolean correctFirstTry) {
+        round++;
+        seen[index] = true;
+
+        if (correctFirstTry) {
+            box[index] = Math.min(MAX_BOX, box[index] + 1);
+        } else {
+            box[index] = 0;
+        }
+        due[index] = round + INTERVALS[box[index]];
+
+        int pos = position[index];
+        siftUp(pos);
+        siftDown(position[index]);
+        return box[index];
+    }
+
+    private boolean less(int a, int b) {
+        if (due[a] != due[b]) {
+            return due[a] < due[b];
+        }
+        return rank[a] < rank[b];
+    }
+
+    private void siftUp(int pos) {
+        int word = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / 2;
+            if (less(word, heap[parent]) == false) {
+                break;
+            }
+            place(heap[parent], pos);
+            pos = parent;
+        }
+        place(word, pos);
+    }
+
+    private void siftDown(int pos) {
+        int word = heap[pos];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (less(heap[child], word) == false) {
+                break;
+            }
+            place(heap[child], pos);
+            pos = child;
+        }
+        place(word, pos);
+    }
+
+    private void place(int word, int pos) {
+        heap[pos] = word;
+        position[word] = pos;
+    }
+}
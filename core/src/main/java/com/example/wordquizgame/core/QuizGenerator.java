@@ -0,0 +1,83 @@
+package com.example.wordquizgame.core;
+
+import java.util.Random;
+
+/**
+ * สุ่มคำถามและตัวเลือกจาก {@link WordList} โดยไม่จอง memory เพิ่มระหว่างเกม
+ */
+public class QuizGenerator {
+
+    private final WordList words;
+    private final Random random;
+    private final ChoiceSampler sampler;
+    private final int numChoices;
+    private final int[] choiceIndexes;
+
+    private final DistractorIndex distractors;
+    private final int[] scratch;
+
+    public QuizGenerator(WordList words, int numChoices, Random random) {
+        this(words, numChoices, random, null);
+    }
+
+    /**
+     * ถ้ากำหนด distractors จะใช้ตัวหลอกที่คล้ายกับคำตอบ แทนการสุ่มจากคำทั้งหมด
+     */
+    public QuizGenerator(WordList words, int numChoices, Random random,
+                         DistractorIndex distractors) {
+        this.words = words;
+        this.random = random;
+        this.numChoices = numChoices;
+        this.sampler = new ChoiceSampler(words.size(), random);
+        this.choiceIndexes = new int[numChoices];
+        this.distractors = distractors;
+        this.scratch = distractors != null ? new int[distractors.scratchSize(numChoices - 1)] : null;
+    }
+
+    public int getNumChoices() {
+        return numChoices;
+    }
+
+    /**
+     * สุ่ม index ของคำถามที่ไม่ซ้ำกันให้เต็ม out
+     */
+    public void pickQuestions(int[] out) {
+        sampler.sample(out.length, out);
+    }
+
+    /**
+     * สุ่มคำศัพท์ตัวเลือก numChoices คำลงใน out โดยมีคำตอบอยู่ในช่องใดช่องหนึ่ง
+     * คืนตำแหน่งของคำตอบ
+     */
+    public int pickChoices(int answerIndex, String[] out) {
+        int answerSlot = pickChoiceIndexes(answerIndex, choiceIndexes);
+        for (int i = 0; i < numChoices; i++) {
+            out[i] = words.getWord(choiceIndexes[i]);
+        }
+        return answerSlot;
+    }
+
+    /**
+     * เหมือน {@link #pickChoices(int, String[])} แต่คืนเป็น index ของคำใน out
+     */
+    public int pickChoiceIndexes(int answerIndex, int[] out) {
+        int answerSlot;
+
+        if (distractors != null) {
+            // เลือกตัวหลอกที่คล้ายคำตอบ ย้ายตัวหลอกในช่องที่สุ่มได้ไปไว้ท้าย แล้ววางคำตอบแทน
+            int k = numChoices - 1;
+            distractors.pick(answerIndex, k, out, random, scratch);
+
+            answerSlot = random.nextInt(numChoices);
+            out[k] = out[answerSlot];
+        } else {
+            // สุ่มตัวหลอกโดยไม่เอาคำตอบ แล้วแทนที่ช่องหนึ่งด้วยคำตอบ
+            sampler.sample(numChoices, out, answerIndex);
+
+            answerSlot = random.nextInt(numChoices);
+        }
+
+        out[answerSlot] = answerIndex;
+        return answerSlot;
+    }
+}
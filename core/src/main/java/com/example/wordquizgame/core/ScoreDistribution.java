@@ -0,0 +1,74 @@
+package com.example.wordquizgame.core;
+
+/**
+ * การกระจายของคะแนน 0-100 เก็บเป็นจำนวนเกมในแต่ละช่วง 1 คะแนน
+ */
+public class ScoreDistribution {
+
+    public static final int BUCKETS = 101;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private double sum;
+
+    public void add(double score) {
+        int bucket = (int) score;
+        if (bucket < 0) {
+            bucket = 0;
+        } else if (bucket >= BUCKETS) {
+            bucket = BUCKETS - 1;
+        }
+        counts[bucket]++;
+        total++;
+        sum += score;
+    }
+
+    /**
+     * รวมผลของอีกชุดเข้ามา (ใช้รวมผลจากหลาย thread)
+     */
+    public void merge(ScoreDistribution other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    public double getMean() {
+        return total == 0 ? 0 : sum / total;
+    }
+
+    /**
+     * คะแนน (ปัดลงเป็นจำนวนเต็ม) ที่เกม p เปอร์เซ็นต์ได้ไม่เกินนี้ เช่น getPercentile(50) คือมัธยฐาน
+     */
+    public int getPercentile(double p) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * p / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i;
+            }
+        }
+        return BUCKETS - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.1f p10=%d p50=%d p90=%d min=%d max=%d",
+                total, getMean(), getPercentile(10), getPercentile(50), getPercentile(90),
+                getPercentile(0), getPercentile(100));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.wordquizgame.core;
+
+/**
+ * การคิดคะแนนของเกม
+ */
+public class Scoring {
+
+    /**
+     * ตอบถูกภายในเวลานี้ได้คะแนนความเร็วเต็ม
+     */
+    public static final long FAST_ANSWER_MILLIS = 1500;
+
+    /**
+     * ตอบช้ากว่านี้ได้คะแนนความเร็วต่ำสุด
+     */
+    public static final long SLOW_ANSWER_MILLIS = 6000;
+
+    public static final double MIN_SPEED_FACTOR = 0.5;
+
+    private Scoring() {
+    }
+
+    /**
+     * เปอร์เซ็นต์ความถูกต้อง = จำนวนข้อ / จำนวนครั้งที่ทาย
+     */
+    public static double percentCorrect(int numberOfQuestions, int totalGuesses) {
+        return (100 * numberOfQuestions) / (double) totalGuesses;
+    }
+
+    /**
+     * ตัวคูณความเร็วของคำตอบหนึ่งข้อ 1.0 เมื่อตอบเร็ว ลดลงเป็นเส้นตรงจนถึง MIN_SPEED_FACTOR เมื่อตอบช้า
+     */
+    public static double speedFactor(long latencyMillis) {
+        if (latencyMillis <= FAST_ANSWER_MILLIS) {
+            return 1.0;
+        }
+        if (latencyMillis >= SLOW_ANSWER_MILLIS) {
+            return MIN_SPEED_FACTOR;
+        }
+
+        double t = (latencyMillis - FAST_ANSWER_MILLIS)
+                / (double) (SLOW_ANSWER_MILLIS - FAST_ANSWER_MILLIS);
+        return 1.0 - t * (1.0 - MIN_SPEED_FACTOR);
+    }
+
+    /**
+     * คะแนนโหมดจับเวลา = เปอร์เซ็นต์ความถูกต้อง x ตัวคูณความเร็วเฉลี่ยของข้อที่ตอบถูก
+     * speedTotal คือผลรวมของ {@link #speedFactor(long)} ของทุกข้อที่ตอบถูก
+     */
+    public static double blitzScore(int correct, int totalGuesses, double speedTotal) {
+        if (correct == 0) {
+            return 0;
+        }
+        return percentCorrect(correct, totalGuesses) * (speedTotal / correct);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.wordquizgame.core;
+
+/**
+ * รายการคำศัพท์ที่เข้าถึงด้วย index ใน O(1)
+ */
+public interface WordList {
+
+    int size();
+
+    String getWord(int index);
+
+    String getCategory(int index);
+}
@@ -0,0 +1,21 @@
+package com.example.wordquizgame.core;
+
+/**
+ * แยกหมวดและคำศัพท์ออกจากชื่อไฟล์รูป เช่น "animals-cat" หรือ "animals-cat.png"
+ */
+public class Words {
+
+    private Words() {
+    }
+
+    public static String getCategory(String fileName) {
+        return fileName.substring(0, fileName.indexOf('-'));
+    }
+
+    public static String getWord(String fileName) {
+        int start = fileName.indexOf('-') + 1;
+        int end = fileName.lastIndexOf('.');
+
+        return end > start ? fileName.substring(start, end) : fileName.substring(start);
+    }
+}
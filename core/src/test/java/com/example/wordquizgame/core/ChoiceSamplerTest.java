@@ -0,0 +1,124 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+public class ChoiceSamplerTest extends TestCase {
+
+    /**
+     * Random ที่นับจำนวนครั้งที่ถูกเรียก nextInt(int)
+     */
+    private static class CountingRandom extends Random {
+        private static final long serialVersionUID = 1L;
+
+        int calls;
+
+        CountingRandom(long seed) {
+            super(seed);
+        }
+
+        @Override
+        public int nextInt(int n) {
+            calls++;
+            return super.nextInt(n);
+        }
+    }
+
+    public void testDrawsDistinctIndexes() {
+        ChoiceSampler sampler = new ChoiceSampler(10, new Random(1));
+        int[] out = new int[10];
+
+        for (int round = 0; round < 100; round++) {
+            sampler.sample(10, out);
+
+            boolean[] seen = new boolean[10];
+            for (int index : out) {
+                assertFalse(seen[index]);
+                seen[index] = true;
+            }
+        }
+    }
+
+    public void testNeverReturnsExcludedIndex() {
+        ChoiceSampler sampler = new ChoiceSampler(6, new Random(2));
+        int[] out = new int[5];
+
+        for (int round = 0; round < 1000; round++) {
+            int excluded = round % 6;
+            sampler.sample(5, out, excluded);
+
+            for (int index : out) {
+                assertTrue(index != excluded);
+            }
+        }
+    }
+
+    public void testNeverReturnsExcludedSet() {
+        ChoiceSampler sampler = new ChoiceSampler(8, new Random(3));
+        int[] excluded = {1, 4, 4, 7};
+        int[] out = new int[5];
+
+        for (int round = 0; round < 1000; round++) {
+            sampler.sample(5, out, excluded, excluded.length);
+
+            for (int index : out) {
+                assertTrue(index != 1 && index != 4 && index != 7);
+            }
+        }
+    }
+
+    public void testRejectsTooManyDraws() {
+        ChoiceSampler sampler = new ChoiceSampler(4, new Random(4));
+
+        try {
+            sampler.sample(4, new int[4], 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testOutputIsUniform() {
+        final int size = 6;
+        final int k = 2;
+        final int rounds = 60000;
+
+        ChoiceSampler sampler = new ChoiceSampler(size, new Random(5));
+        int[] out = new int[k];
+        int[][] counts = new int[k][size];
+
+        for (int round = 0; round < rounds; round++) {
+            sampler.sample(k, out, 0);
+            for (int slot = 0; slot < k; slot++) {
+                counts[slot][out[slot]]++;
+            }
+        }
+
+        // ทุกตำแหน่งต้องได้แต่ละ index (ยกเว้น 0) ประมาณเท่า ๆ กัน
+        double expected = rounds / (double) (size - 1);
+        for (int slot = 0; slot < k; slot++) {
+            assertEquals(0, counts[slot][0]);
+
+            double chiSquare = 0;
+            for (int index = 1; index < size; index++) {
+                double diff = counts[slot][index] - expected;
+                chiSquare += diff * diff / expected;
+            }
+            // ค่าวิกฤตของ chi-square ที่ df = 4, p = 0.001
+            assertTrue("chi-square " + chiSquare, chiSquare < 18.47);
+        }
+    }
+
+    public void testCostIsBoundedByK() {
+        CountingRandom random = new CountingRandom(6);
+        ChoiceSampler sampler = new ChoiceSampler(6, random);
+        int[] out = new int[5];
+
+        // ต้องสุ่มแค่ k ครั้ง แม้จะขอครบทุกตัวที่เหลือ
+        for (int round = 0; round < 1000; round++) {
+            random.calls = 0;
+            sampler.sample(5, out, round % 6);
+            assertEquals(5, random.calls);
+        }
+    }
+}
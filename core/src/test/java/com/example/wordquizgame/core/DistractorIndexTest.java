@@ -0,0 +1,96 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+public class DistractorIndexTest extends TestCase {
+
+    private static class ArrayWordList implements WordList {
+        final String[] categories;
+        final String[] words;
+
+        ArrayWordList(String... fileNames) {
+            categories = new String[fileNames.length];
+            words = new String[fileNames.length];
+            for (int i = 0; i < fileNames.length; i++) {
+                categories[i] = Words.getCategory(fileNames[i]);
+                words[i] = Words.getWord(fileNames[i]);
+            }
+        }
+
+        @Override
+        public int size() {
+            return words.length;
+        }
+
+        @Override
+        public String getWord(int index) {
+            return words[index];
+        }
+
+        @Override
+        public String getCategory(int index) {
+            return categories[index];
+        }
+    }
+
+    private static final ArrayWordList BANK = new ArrayWordList(
+            "animals-cat", "animals-dog", "animals-lion", "animals-tiger", "animals-owl",
+            "animals-pig", "animals-koala",
+            "numbers-one", "numbers-two", "numbers-three", "numbers-seven", "numbers-eight",
+            "numbers-nine",
+            "colors-red");
+
+    public void testPicksFromSameCategory() {
+        DistractorIndex index = new DistractorIndex(BANK);
+        Random random = new Random(1);
+        int[] out = new int[5];
+        int[] scratch = new int[index.scratchSize(5)];
+
+        for (int answer = 0; answer < 7; answer++) {
+            for (int round = 0; round < 100; round++) {
+                index.pick(answer, 5, out, random, scratch);
+
+                for (int i = 0; i < 5; i++) {
+                    assertEquals("animals", BANK.getCategory(out[i]));
+                    assertTrue(out[i] != answer);
+                    for (int j = 0; j < i; j++) {
+                        assertTrue(out[i] != out[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    public void testFallsBackToOtherCategories() {
+        DistractorIndex index = new DistractorIndex(BANK);
+        int[] out = new int[5];
+        int[] scratch = new int[index.scratchSize(5)];
+
+        // หมวด colors มีแค่คำเดียว ต้องยืมคำจากหมวดอื่น
+        index.pick(13, 5, out, new Random(2), scratch);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(out[i] != 13);
+            for (int j = 0; j < i; j++) {
+                assertTrue(out[i] != out[j]);
+            }
+        }
+    }
+
+    public void testSkipsDuplicateWords() {
+        ArrayWordList bank = new ArrayWordList(
+                "animals-cat", "pets-cat", "animals-dog", "pets-dog", "animals-owl");
+        DistractorIndex index = new DistractorIndex(bank, 1);
+        int[] out = new int[2];
+        int[] scratch = new int[index.scratchSize(2)];
+
+        for (int round = 0; round < 100; round++) {
+            index.pick(0, 2, out, new Random(round), scratch);
+
+            assertFalse("cat".equals(bank.getWord(out[0])));
+            assertFalse("cat".equals(bank.getWord(out[1])));
+            assertFalse(bank.getWord(out[0]).equals(bank.getWord(out[1])));
+        }
+    }
+}
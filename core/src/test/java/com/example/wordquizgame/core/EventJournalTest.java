@@ -0,0 +1,145 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+
+public class EventJournalTest extends TestCase {
+
+    private File dir;
+
+    @Override
+    protected void setUp() throws Exception {
+        dir = File.createTempFile("journal", "");
+        dir.delete();
+    }
+
+    @Override
+    protected void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    public void testCompactionKeepsTotalsAndBoundsSegments() throws IOException {
+        EventJournal journal = new EventJournal(dir, 256, 2);
+        EventRing ring = new EventRing(16);
+
+        int correct = 0;
+        for (int i = 0; i < 500; i++) {
+            boolean ok = i % 3 != 0;
+            ring.offer("animals-cat", ok ? "animals-cat" : "animals-dog", ok, 1000, 2, i);
+            if (ok) {
+                correct++;
+            }
+            if (ring.size() == ring.capacity()) {
+                journal.append(ring);
+                journal.compact();
+                assertTrue(journal.getSegmentCount() <= 3);
+            }
+        }
+        journal.append(ring);
+
+        Map<String, EventJournal.WordStats> all = journal.readAll();
+        EventJournal.WordStats cat = all.get("animals-cat");
+        assertEquals(500, cat.guesses);
+        assertEquals(correct, cat.correct);
+        assertEquals(1000L * correct, cat.latencyTotal);
+        assertEquals(500 - correct, all.get("animals-dog").pickedWrongly);
+        assertTrue(journal.readSummary().get("animals-cat").guesses > 0);
+        journal.closeSegment();
+    }
+
+    public void testSegmentsLeftAfterInterruptedCompactionAreNotCountedTwice() throws IOException {
+        EventJournal journal = new EventJournal(dir, 64, 1);
+        EventRing ring = new EventRing(64);
+        for (int i = 0; i < 40; i++) {
+            ring.offer("colors-red", "colors-red", true, 100, 1, i);
+        }
+        journal.append(ring);
+        journal.closeSegment();
+
+        // เก็บ segment ไว้ก่อนรวบ แล้วใส่คืนหลังรวบ เหมือนแอปถูกปิดหลังเขียน summary แต่ก่อนลบ
+        Map<String, byte[]> saved = new HashMap<String, byte[]>();
+        for (File file : dir.listFiles()) {
+            saved.put(file.getName(), read(file));
+        }
+        assertTrue(journal.compact() > 0);
+        for (Map.Entry<String, byte[]> entry : saved.entrySet()) {
+            write(new File(dir, entry.getKey()), entry.getValue());
+        }
+
+        EventJournal reopened = new EventJournal(dir, 64, 1);
+        assertEquals(40, reopened.readAll().get("colors-red").guesses);
+
+        // รวบครั้งถัดไปลบ segment ที่ค้างโดยไม่นับซ้ำ และ segment ใหม่ยังถูกนับ
+        ring.offer("colors-red", "colors-red", true, 100, 1, 40);
+        reopened.append(ring);
+        reopened.closeSegment();
+        reopened.compact();
+        assertEquals(41, reopened.readAll().get("colors-red").guesses);
+        assertEquals(41, new EventJournal(dir, 64, 1).readAll().get("colors-red").guesses);
+        assertTrue(reopened.getSegmentCount() <= 1);
+    }
+
+    private static byte[] read(File file) throws IOException {
+        byte[] data = new byte[(int) file.length()];
+        InputStream in = new FileInputStream(file);
+        try {
+            int pos = 0;
+            int n;
+            while (pos < data.length && (n = in.read(data, pos, data.length - pos)) != -1) {
+                pos += n;
+            }
+        } finally {
+            in.close();
+        }
+        return data;
+    }
+
+    private static void write(File file, byte[] data) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+    }
+
+    public void testSkipsTruncatedRecord() throws IOException {
+        EventJournal journal = new EventJournal(dir, 1 << 20, 4);
+        EventRing ring = new EventRing(4);
+        ring.offer("body-hand", "body-hand", true, 500, 0, 1);
+        ring.offer("body-eye", "body-ear", false, 700, 0, 2);
+        journal.append(ring);
+        journal.closeSegment();
+
+        File segment = dir.listFiles()[0];
+        RandomAccessFile raf = new RandomAccessFile(segment, "rw");
+        raf.setLength(raf.length() - 3);
+        raf.close();
+
+        // เปิดใหม่ต้องไม่ต่อท้าย segment ที่เสีย
+        EventJournal reopened = new EventJournal(dir, 1 << 20, 4);
+        ring.offer("body-hand", "body-hand", true, 300, 0, 3);
+        reopened.append(ring);
+
+        Map<String, EventJournal.WordStats> all = reopened.readAll();
+        assertEquals(2, all.get("body-hand").guesses);
+        assertEquals(800, all.get("body-hand").latencyTotal);
+        assertNull(all.get("body-eye"));
+        reopened.closeSegment();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+import java.io.IOException;
+
+public class EventRingTest extends TestCase {
+
+    private static class CountingSink implements EventRing.Sink {
+        long count;
+        long latencyTotal;
+        long lastTime = -1;
+        boolean ordered = true;
+
+        @Override
+        public void accept(String word, String chosen, boolean correct, int latencyMillis,
+                           int difficulty, long timeMillis) {
+            count++;
+            latencyTotal += latencyMillis;
+            if (timeMillis != lastTime + 1) {
+                ordered = false;
+            }
+            lastTime = timeMillis;
+        }
+    }
+
+    public void testDropsWhenFull() throws IOException {
+        EventRing ring = new EventRing(4);
+        for (int i = 0; i < 6; i++) {
+            ring.offer("animals-cat", "animals-dog", false, 100, 1, i);
+        }
+        assertEquals(4, ring.size());
+        assertEquals(2, ring.getDropped());
+
+        CountingSink sink = new CountingSink();
+        assertEquals(4, ring.drain(sink));
+        assertEquals(0, ring.size());
+        assertTrue(sink.ordered);
+        assertTrue(ring.offer("animals-cat", "animals-cat", true, 100, 1, 4));
+    }
+
+    public void testConcurrentProducerAndConsumer() throws Exception {
+        final EventRing ring = new EventRing(1024);
+        final int events = 100000;
+        final CountingSink sink = new CountingSink();
+
+        Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (sink.count < events) {
+                        if (ring.drain(sink) == 0) {
+                            Thread.yield();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        consumer.start();
+
+        for (int i = 0; i < events; i++) {
+            while (ring.offer("w", "w", true, i % 7, 0, i) == false) {
+                Thread.yield();
+            }
+        }
+        consumer.join(10000);
+
+        assertEquals(events, sink.count);
+        assertTrue(sink.ordered);
+        long expected = 0;
+        for (int i = 0; i < events; i++) {
+            expected += i % 7;
+        }
+        assertEquals(expected, sink.latencyTotal);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class GameEngineTest extends TestCase {
+
+    private static WordList words(final int size) {
+        return new WordList() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public String getWord(int index) {
+                return "word" + index;
+            }
+
+            @Override
+            public String getCategory(int index) {
+                return "animals";
+            }
+        };
+    }
+
+    private static GameEngine newEngine(int targetQuestions, boolean timed) {
+        QuizGenerator generator = new QuizGenerator(words(50), 4, new Random(1));
+        return new GameEngine(generator, new GameEngine.RandomQuestions(generator), 4, 5,
+                targetQuestions, timed);
+    }
+
+    private static int wrongSlot(GameEngine engine) {
+        return (engine.getAnswerSlot() + 1) % engine.getNumChoices();
+    }
+
+    public void testPlayToTarget() {
+        GameEngine engine = newEngine(5, false);
+        engine.start();
+
+        for (int i = 0; i < 5; i++) {
+            int answerIndex = engine.nextQuestion();
+            assertEquals(answerIndex, engine.getChoiceIndex(engine.getAnswerSlot()));
+
+            int slot = wrongSlot(engine);
+            assertEquals(GameEngine.WRONG, engine.guess(slot, 1000));
+            assertTrue(engine.isDisabled(slot));
+            assertEquals(GameEngine.IGNORED, engine.guess(slot, 1000));
+
+            int result = engine.guess(engine.getAnswerSlot(), 1000);
+            assertEquals(i == 4 ? GameEngine.FINISHED : GameEngine.CORRECT, result);
+            assertEquals(GameEngine.IGNORED, engine.guess(engine.getAnswerSlot(), 1000));
+        }
+
+        assertTrue(engine.isFinished());
+        assertEquals(5, engine.getCorrectCount());
+        assertEquals(10, engine.getTotalGuesses());
+        assertEquals(50.0, engine.getScore(), 1e-9);
+        assertEquals(1000, engine.getAverageLatency());
+    }
+
+    public void testTimedGameRefillsQuestions() {
+        GameEngine engine = newEngine(0, true);
+        engine.start();
+
+        for (int i = 0; i < 12; i++) {
+            engine.nextQuestion();
+            assertEquals(GameEngine.CORRECT, engine.guess(engine.getAnswerSlot(), 0));
+        }
+        assertFalse(engine.isFinished());
+
+        engine.timeUp();
+        assertTrue(engine.isFinished());
+        assertEquals(100.0, engine.getScore(), 1e-9);
+    }
+
+    public void testSnapshotRestore() {
+        GameEngine engine = newEngine(5, false);
+        engine.start();
+        engine.nextQuestion();
+        engine.guess(engine.getAnswerSlot(), 500);
+        engine.nextQuestion();
+        int slot = wrongSlot(engine);
+        engine.guess(slot, 0);
+
+        GameSnapshot snapshot = GameSnapshot.fromIntArray(engine.toSnapshot().toIntArray());
+        GameEngine copy = newEngine(5, false);
+        assertTrue(copy.restore(snapshot, 50));
+        assertFalse(newEngine(5, false).restore(snapshot, 10));
+
+        assertEquals(engine.getAnswerIndex(), copy.getAnswerIndex());
+        assertEquals(engine.getAnswerSlot(), copy.getAnswerSlot());
+        assertEquals(engine.peekNextQuestion(), copy.peekNextQuestion());
+        assertTrue(copy.isDisabled(slot));
+        assertEquals(1, copy.getQuestionGuesses());
+        assertEquals(GameEngine.CORRECT, copy.guess(copy.getAnswerSlot(), 0));
+        assertEquals(2, copy.getCorrectCount());
+        assertEquals(3, copy.getTotalGuesses());
+    }
+
+    public void testSimulatorIsDeterministic() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        GameSimulator simulator = new GameSimulator(words(50), null, 5, pool);
+
+        ScoreDistribution perfect = simulator.run(1000, 2, 1.0, 7);
+        assertEquals(1000, perfect.getCount());
+        assertEquals(100, perfect.getPercentile(0));
+
+        ScoreDistribution a = simulator.run(10000, 1, 0.5, 7);
+        ScoreDistribution b = simulator.run(10000, 1, 0.5, 7);
+        assertEquals(10000, a.getCount());
+        assertEquals(a.getMean(), b.getMean(), 1e-9);
+        assertTrue(a.getPercentile(50) < 100);
+        assertTrue(a.getMean() > simulator.run(10000, 2, 0.5, 7).getMean());
+        pool.shutdown();
+    }
+}
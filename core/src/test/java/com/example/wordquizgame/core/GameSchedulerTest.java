@@ -0,0 +1,118 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameSchedulerTest extends TestCase {
+
+    private GameScheduler.VirtualClock clock;
+    private GameScheduler scheduler;
+    private List<String> ran;
+
+    @Override
+    protected void setUp() {
+        clock = new GameScheduler.VirtualClock();
+        scheduler = new GameScheduler(clock, null);
+        ran = new ArrayList<String>();
+    }
+
+    private Runnable log(final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                ran.add(name);
+            }
+        };
+    }
+
+    public void testRunsTasksInDueOrder() {
+        scheduler.schedule(log("b"), 2000);
+        scheduler.schedule(log("a"), 1000);
+        scheduler.schedule(log("c"), 2000);
+        assertEquals(3, scheduler.getPendingCount());
+
+        clock.advance(999, scheduler);
+        assertTrue(ran.isEmpty());
+
+        clock.advance(1, scheduler);
+        assertEquals("[a]", ran.toString());
+
+        clock.advance(1000, scheduler);
+        assertEquals("[a, b, c]", ran.toString());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    public void testCancel() {
+        GameScheduler.Task task = scheduler.schedule(log("a"), 100);
+        scheduler.schedule(log("b"), 200);
+
+        assertTrue(scheduler.cancel(task));
+        assertFalse(scheduler.cancel(task));
+
+        clock.advance(500, scheduler);
+        assertEquals("[b]", ran.toString());
+
+        scheduler.schedule(log("c"), 100);
+        scheduler.cancelAll();
+        assertEquals(0, scheduler.getPendingCount());
+        clock.advance(500, scheduler);
+        assertEquals("[b]", ran.toString());
+    }
+
+    public void testPauseKeepsRemainingDelay() {
+        scheduler.schedule(log("a"), 2000);
+        clock.advance(1500, scheduler);
+
+        scheduler.pause();
+        clock.advance(10000, scheduler);
+        assertTrue(ran.isEmpty());
+
+        scheduler.resume();
+        clock.advance(499, scheduler);
+        assertTrue(ran.isEmpty());
+        clock.advance(1, scheduler);
+        assertEquals("[a]", ran.toString());
+    }
+
+    public void testRemainingSkipsPausedTime() {
+        GameScheduler.Task task = scheduler.schedule(log("a"), 60000);
+        clock.advance(10000, scheduler);
+        assertEquals(50000, scheduler.getRemaining(task));
+
+        scheduler.pause();
+        clock.advance(5000, scheduler);
+        assertEquals(50000, scheduler.getRemaining(task));
+
+        scheduler.resume();
+        clock.advance(50000, scheduler);
+        assertEquals(0, scheduler.getRemaining(task));
+        assertEquals("[a]", ran.toString());
+    }
+
+    public void testWakerFollowsEarliestTask() {
+        final long[] wake = {-1};
+        GameScheduler woken = new GameScheduler(clock, new GameScheduler.Waker() {
+            @Override
+            public void wakeAt(long atMillis) {
+                wake[0] = atMillis;
+            }
+
+            @Override
+            public void cancelWake() {
+                wake[0] = -1;
+            }
+        });
+
+        GameScheduler.Task late = woken.schedule(log("late"), 300);
+        assertEquals(300, wake[0]);
+        GameScheduler.Task early = woken.schedule(log("early"), 100);
+        assertEquals(100, wake[0]);
+
+        woken.cancel(early);
+        assertEquals(300, wake[0]);
+        woken.cancel(late);
+        assertEquals(-1, wake[0]);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+public class GameSnapshotTest extends TestCase {
+
+    public void testRoundTrip() {
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.score = 2;
+        snapshot.totalGuesses = 4;
+        snapshot.questionGuesses = 1;
+        snapshot.questionIndex = 3;
+        snapshot.answerIndex = 17;
+        snapshot.disabledMask = 5;
+        snapshot.answered = true;
+        snapshot.latencyTotal = 4200;
+        snapshot.speedTotal = 1850;
+        snapshot.elapsedMillis = 700;
+        snapshot.remainingMillis = 31000;
+        snapshot.quizIndexes = new int[]{3, 9, 17, 22, 40};
+        snapshot.choiceIndexes = new int[]{17, 2, 8, 11};
+
+        GameSnapshot copy = GameSnapshot.fromIntArray(snapshot.toIntArray());
+
+        assertNotNull(copy);
+        assertEquals(2, copy.score);
+        assertEquals(4, copy.totalGuesses);
+        assertEquals(1, copy.questionGuesses);
+        assertEquals(3, copy.questionIndex);
+        assertEquals(17, copy.answerIndex);
+        assertEquals(5, copy.disabledMask);
+        assertTrue(copy.answered);
+        assertFalse(copy.finished);
+        assertEquals(4200, copy.latencyTotal);
+        assertEquals(1850, copy.speedTotal);
+        assertEquals(700, copy.elapsedMillis);
+        assertEquals(31000, copy.remainingMillis);
+        assertEquals(5, copy.quizIndexes.length);
+        assertEquals(40, copy.quizIndexes[4]);
+        assertEquals(4, copy.choiceIndexes.length);
+        assertEquals(11, copy.choiceIndexes[3]);
+        assertTrue(copy.isValidFor(50, 5, 4));
+        assertFalse(copy.isValidFor(30, 5, 4));
+    }
+
+    public void testRejectsBrokenData() {
+        assertNull(GameSnapshot.fromIntArray(null));
+        assertNull(GameSnapshot.fromIntArray(new int[]{1, 2, 3}));
+        assertNull(GameSnapshot.fromIntArray(
+                new int[]{99, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, -1, 0, 0}));
+        assertNull(GameSnapshot.fromIntArray(
+                new int[]{2, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, -1, 5, 0}));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+public class ImagePackTest extends TestCase {
+
+    private File dir;
+
+    @Override
+    protected void setUp() throws IOException {
+        dir = File.createTempFile("imagepack", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdirs());
+    }
+
+    @Override
+    protected void tearDown() {
+        delete(dir);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private void writeImage(String category, String fileName, byte[] data) throws IOException {
+        File categoryDir = new File(dir, "images/" + category);
+        categoryDir.mkdirs();
+        FileOutputStream out = new FileOutputStream(new File(categoryDir, fileName));
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (seed + i * 31);
+        }
+        return data;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        byte[] data = new byte[in.available()];
+        int pos = 0;
+        int n;
+        while (pos < data.length && (n = in.read(data, pos, data.length - pos)) != -1) {
+            pos += n;
+        }
+        assertEquals(-1, in.read());
+        return data;
+    }
+
+    public void testWriteAndMap() throws IOException {
+        writeImage("colors", "colors-red.png", bytes(10, 1));
+        writeImage("animals", "animals-dog.png", bytes(3000, 2));
+        writeImage("animals", "animals-cat.png", bytes(0, 3));
+        writeImage("animals", "readme.txt", bytes(5, 4));
+
+        File packFile = new File(dir, "out/words.pack");
+        assertEquals(3, ImagePackWriter.write(new File(dir, "images"), packFile));
+
+        RandomAccessFile file = new RandomAccessFile(packFile, "r");
+        ImagePack pack;
+        try {
+            pack = new ImagePack(file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length()));
+        } finally {
+            file.close();
+        }
+
+        assertEquals(3, pack.size());
+        assertEquals("animals/animals-cat.png", pack.getPath(0));
+        assertEquals("animals/animals-dog.png", pack.getPath(1));
+        assertEquals("colors/colors-red.png", pack.getPath(2));
+        assertEquals(2, pack.indexOf("colors/colors-red.png"));
+        assertEquals(-1, pack.indexOf("colors/colors-blue.png"));
+
+        assertEquals(0, readAll(pack.open(0)).length);
+        assertTrue(Arrays.equals(bytes(3000, 2), readAll(pack.open(1))));
+        assertTrue(Arrays.equals(bytes(10, 1), readAll(pack.open(2))));
+    }
+
+    public void testRejectsTruncatedAndCorruptPacks() throws IOException {
+        writeImage("animals", "animals-cat.png", bytes(40, 1));
+        writeImage("animals", "animals-dog.png", bytes(30, 2));
+        writeImage("colors", "colors-red.png", bytes(20, 3));
+
+        File packFile = new File(dir, "words.pack");
+        ImagePackWriter.write(new File(dir, "images"), packFile);
+        byte[] data = new byte[(int) packFile.length()];
+        RandomAccessFile file = new RandomAccessFile(packFile, "r");
+        try {
+            file.readFully(data);
+        } finally {
+            file.close();
+        }
+        assertEquals(3, new ImagePack(ByteBuffer.wrap(data)).size());
+
+        // ตัดไฟล์ทุกความยาว ส่วนหัว ตาราง path หรือข้อมูลรูปส่วนใดส่วนหนึ่งจะขาดไป
+        for (int length = 0; length < data.length; length++) {
+            try {
+                new ImagePack(ByteBuffer.wrap(Arrays.copyOf(data, length)));
+                fail("Accepted pack truncated to " + length + " bytes");
+            } catch (IOException expected) {
+            }
+        }
+
+        // ความยาว path ของรูปแรกเกินท้ายไฟล์
+        ByteBuffer badPath = ByteBuffer.wrap(data.clone());
+        badPath.putShort(ImagePack.HEADER_SIZE + 3 * ImagePack.ENTRY_SIZE, (short) 0xFFFF);
+        try {
+            new ImagePack(badPath);
+            fail();
+        } catch (IOException expected) {
+        }
+
+        // offset ของรูปที่สองชี้เข้าไปในตาราง path
+        ByteBuffer badOffset = ByteBuffer.wrap(data.clone());
+        badOffset.putInt(ImagePack.HEADER_SIZE + ImagePack.ENTRY_SIZE, ImagePack.HEADER_SIZE);
+        try {
+            new ImagePack(badOffset);
+            fail();
+        } catch (IOException expected) {
+        }
+    }
+
+    public void testRejectsOtherFiles() {
+        try {
+            new ImagePack(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}));
+            fail();
+        } catch (IOException expected) {
+        }
+
+        ByteBuffer truncated = ByteBuffer.allocate(20);
+        truncated.putInt(ImagePack.MAGIC).putInt(ImagePack.VERSION).putInt(5);
+        try {
+            new ImagePack(truncated);
+            fail();
+        } catch (IOException expected) {
+        }
+    }
+}
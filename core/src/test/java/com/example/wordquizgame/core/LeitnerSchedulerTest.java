@@ -0,0 +1,98 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+public class LeitnerSchedulerTest extends TestCase {
+
+    public void testPicksDistinctWords() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(5, new Random(1));
+        int[] out = new int[5];
+
+        for (int round = 0; round < 100; round++) {
+            scheduler.pickQuestions(out);
+
+            boolean[] seen = new boolean[5];
+            for (int index : out) {
+                assertFalse(seen[index]);
+                seen[index] = true;
+            }
+        }
+    }
+
+    public void testCorrectAnswersMoveUpBoxes() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(10, new Random(2));
+
+        for (int box = 1; box <= LeitnerScheduler.MAX_BOX + 2; box++) {
+            scheduler.record(3, true);
+            assertEquals(Math.min(box, LeitnerScheduler.MAX_BOX), scheduler.getBox(3));
+        }
+
+        scheduler.record(3, false);
+        assertEquals(0, scheduler.getBox(3));
+    }
+
+    public void testWrongWordComesBackBeforeMasteredWord() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(2, new Random(3));
+        for (int i = 0; i < 4; i++) {
+            scheduler.record(0, true);
+        }
+        scheduler.record(1, false);
+
+        int[] out = new int[1];
+        scheduler.pickQuestions(out);
+        assertEquals(1, out[0]);
+    }
+
+    public void testPickingWithoutAnsweringKeepsDue() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(3, new Random(5));
+        scheduler.setRound(100);
+        scheduler.restore(0, 4, 200);
+        scheduler.restore(1, 0, 101);
+        scheduler.restore(2, 2, 150);
+        scheduler.heapify();
+
+        int[] out = new int[3];
+        scheduler.pickQuestions(out);
+        assertEquals(200, scheduler.getDue(0));
+        assertEquals(101, scheduler.getDue(1));
+        assertEquals(150, scheduler.getDue(2));
+
+        // คำที่จำได้แล้วยังอยู่ท้ายคิว
+        int[] first = new int[1];
+        scheduler.pickQuestions(first);
+        assertEquals(1, first[0]);
+    }
+
+    public void testRestoredStateIsUsed() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(3, new Random(4));
+        scheduler.setRound(100);
+        scheduler.restore(0, 4, 200);
+        scheduler.restore(1, 0, 50);
+        scheduler.restore(2, 2, 150);
+        scheduler.heapify();
+
+        int[] out = new int[3];
+        scheduler.pickQuestions(out);
+        assertEquals(1, out[0]);
+        assertEquals(2, out[1]);
+        assertEquals(0, out[2]);
+    }
+
+    public void testLargeBankStaysFast() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(500000, new Random(5));
+        int[] out = new int[5];
+
+        long start = System.nanoTime();
+        for (int game = 0; game < 10000; game++) {
+            scheduler.pickQuestions(out);
+            for (int index : out) {
+                scheduler.record(index, game % 3 != 0);
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1000000;
+
+        assertTrue("took " + elapsedMs + " ms", elapsedMs < 2000);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.wordquizgame.core;
+
+import junit.framework.TestCase;
+
+public class ScoringTest extends TestCase {
+
+    public void testSpeedFactor() {
+        assertEquals(1.0, Scoring.speedFactor(0), 1e-9);
+        assertEquals(1.0, Scoring.speedFactor(Scoring.FAST_ANSWER_MILLIS), 1e-9);
+        assertEquals(Scoring.MIN_SPEED_FACTOR, Scoring.speedFactor(Scoring.SLOW_ANSWER_MILLIS), 1e-9);
+        assertEquals(Scoring.MIN_SPEED_FACTOR, Scoring.speedFactor(60000), 1e-9);
+
+        long middle = (Scoring.FAST_ANSWER_MILLIS + Scoring.SLOW_ANSWER_MILLIS) / 2;
+        assertEquals((1.0 + Scoring.MIN_SPEED_FACTOR) / 2, Scoring.speedFactor(middle), 1e-3);
+    }
+
+    public void testBlitzScore() {
+        assertEquals(0.0, Scoring.blitzScore(0, 0, 0), 1e-9);
+        assertEquals(100.0, Scoring.blitzScore(4, 4, 4.0), 1e-9);
+        assertEquals(40.0, Scoring.blitzScore(4, 8, 3.2), 1e-9);
+    }
+}